@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Runs testsuites/testng.xml as N duration-balanced shards in parallel JVMs, then merges their reports.
+#
+#   scripts/run-shards.sh 3                       # three forks on this machine
+#   scripts/run-shards.sh 3 -Dfixture.mode=true   # extra -D options are passed to every fork
+#
+# On separate agents, run "mvn test -Dshard=i/N -Dreport.dir=target/shards/shard-i/reports ..." per agent
+# with the same test-history.log (test.history.file), collect target/shards/ on one machine and run the merge step below.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SHARDS="${1:-2}"
+shift || true
+SHARDS_DIR=target/shards
+
+# Compile once; the forks only run surefire:test against the shared classes.
+mvn -B -q clean test-compile dependency:build-classpath \
+    -Dmdep.outputFile=target/test-classpath.txt -Dmdep.includeScope=test "$@"
+
+pids=()
+for i in $(seq 1 "$SHARDS"); do
+    dir="$SHARDS_DIR/shard-$i"
+    mkdir -p "$dir/reports"
+    mvn -B -q surefire:test \
+        -Dshard="$i/$SHARDS" \
+        -Dreport.dir="$dir/reports" \
+        -Dallure.results.directory="$dir/allure-results" \
+        -Dsurefire.reports.dir="$dir/surefire-reports" \
+        -Dorg.slf4j.simpleLogger.logFile="$dir/reports/framework.log" \
+        "$@" > "$dir/maven.log" 2>&1 &
+    pids+=("$!")
+done
+
+status=0
+for i in "${!pids[@]}"; do
+    if ! wait "${pids[$i]}"; then
+        echo "Shard $((i + 1))/$SHARDS failed, see $SHARDS_DIR/shard-$((i + 1))/maven.log" >&2
+        status=1
+    fi
+done
+
+java -cp "target/test-classes:target/classes:$(cat target/test-classpath.txt)" \
+    reporting.ReportMerger "$SHARDS_DIR" target/reports target/allure-results
+exit "$status"
@@ -0,0 +1,48 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ConfigManager;
+
+/**
+ * Cost of {@link ConfigManager#get} (system property first, then properties file) and of re-parsing
+ * numeric values on every call, against a value resolved once into a constant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigLookupBenchmark {
+
+    private static final long RESOLVED_ONCE = Long.parseLong(ConfigManager.get("implicit.wait.seconds", "10"));
+
+    @Benchmark
+    public String getFromProperties() {
+        return ConfigManager.get("implicit.wait.seconds", "10");
+    }
+
+    @Benchmark
+    public String getMissingKey() {
+        return ConfigManager.get("benchmark.missing.key", "default");
+    }
+
+    @Benchmark
+    public long getAndParse() {
+        return Long.parseLong(ConfigManager.get("implicit.wait.seconds", "10"));
+    }
+
+    @Benchmark
+    public long resolvedConstant() {
+        return RESOLVED_ONCE;
+    }
+}
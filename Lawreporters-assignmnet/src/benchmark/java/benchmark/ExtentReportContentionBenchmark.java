@@ -0,0 +1,88 @@
+package benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import reporting.ExtentReportManager;
+
+/**
+ * {@link ExtentReportManager#startTest} with four threads racing, as under parallel="methods". This measures
+ * the caller-side cost (enqueue); every call still adds a node on the writer, so runs use fixed-size batches.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, batchSize = 1000)
+@Measurement(iterations = 5, batchSize = 1000)
+@Fork(1)
+@Threads(4)
+@State(Scope.Thread)
+public class ExtentReportContentionBenchmark {
+
+    private ITestNGMethod method;
+
+    @Setup
+    public void setUp() {
+        method = stub(ITestNGMethod.class, Map.of("getMethodName", "benchmarkTest"));
+        ExtentReportManager.start();
+    }
+
+    @Benchmark
+    public void startTest() {
+        ExtentReportManager.startTest(stub(ITestResult.class, Map.of("getMethod", method)));
+    }
+
+    /**
+     * Minimal interface stub: fixed return values by method name, a working attribute map, defaults otherwise.
+     */
+    private static <T> T stub(Class<T> type, Map<String, Object> returns) {
+        Map<String, Object> attributes = new HashMap<>();
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, invoked, args) -> {
+            String name = invoked.getName();
+            if (returns.containsKey(name)) {
+                return returns.get(name);
+            }
+            switch (name) {
+                case "setAttribute":
+                    return attributes.put((String) args[0], args[1]);
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                default:
+                    return defaultValue(invoked.getReturnType());
+            }
+        });
+        return type.cast(proxy);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
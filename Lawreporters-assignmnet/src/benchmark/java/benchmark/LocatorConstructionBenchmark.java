@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import pages.support.Locators;
+
+/**
+ * Client-side cost of building a menu/header locator: the former per-call XPath string building
+ * versus the cached {@link Locators} lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorConstructionBenchmark {
+
+    @Param({"Home", "Find Lawyer", "Contact Us"})
+    public String label;
+
+    @Benchmark
+    public By legacyMenuLinkBy() {
+        String escaped = label.replace("'", "\\'");
+        return By.xpath(
+                "(//header//a[normalize-space()='" + escaped + "']"
+                        + " | //nav//a[normalize-space()='" + escaped + "']"
+                        + " | //a[normalize-space()='" + escaped + "'])[1]");
+    }
+
+    @Benchmark
+    public By legacyHeaderTextLocator() {
+        String escaped = label.replace("'", "\\'");
+        return By.xpath(
+                "(//header//*[normalize-space()='" + escaped + "']"
+                        + " | //nav//*[normalize-space()='" + escaped + "']"
+                        + " | //*[normalize-space()='" + escaped + "'])[1]");
+    }
+
+    @Benchmark
+    public By registryMenuLink() {
+        return Locators.menuLink(label);
+    }
+
+    @Benchmark
+    public By registryExactText() {
+        return Locators.exactText(label);
+    }
+}
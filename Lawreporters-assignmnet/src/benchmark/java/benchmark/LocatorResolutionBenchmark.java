@@ -0,0 +1,123 @@
+package benchmark;
+
+import base.DriverFactory;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import pages.support.Locators;
+import utils.ConfigManager;
+
+/**
+ * Browser-side cost of resolving a locator on the saved homepage fixture: the previous ad-hoc XPath unions
+ * versus the registry locators. Setup checks that both sides resolve to the same element, so the comparison
+ * is like for like. Needs a browser, so the default {@code jmh.args} exclude it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorResolutionBenchmark {
+
+    private static final String FIXTURE = "fixtures/home/index.html";
+
+    @Param({"logo", "newsletter email", "menu Home", "menu Find Lawyer", "menu Contact Us",
+            "text Home", "text Find Lawyer", "text Contact Us"})
+    public String locator;
+
+    private WebDriver driver;
+    private By legacy;
+    private By registry;
+
+    @Setup
+    public void openFixture() throws URISyntaxException {
+        URL fixture = getClass().getClassLoader().getResource(FIXTURE);
+        if (fixture == null) {
+            throw new IllegalStateException("Fixture not found on classpath: " + FIXTURE);
+        }
+        driver = DriverFactory.initDriver(ConfigManager.get("browser", "chrome"));
+        driver.get(fixture.toURI().toString());
+
+        By[] pair = pair(locator);
+        legacy = pair[0];
+        registry = pair[1];
+        if (!firstMatch(registry).equals(firstMatch(legacy))) {
+            throw new IllegalStateException("Registry locator resolves a different element for " + locator);
+        }
+    }
+
+    @TearDown
+    public void closeFixture() {
+        DriverFactory.quitDriver();
+    }
+
+    @Benchmark
+    public List<WebElement> legacyLocator() {
+        return driver.findElements(legacy);
+    }
+
+    @Benchmark
+    public List<WebElement> registryLocator() {
+        return driver.findElements(registry);
+    }
+
+    private WebElement firstMatch(By by) {
+        List<WebElement> elements = driver.findElements(by);
+        if (elements.isEmpty()) {
+            throw new IllegalStateException("No element for " + by);
+        }
+        return elements.get(0);
+    }
+
+    private static By[] pair(String name) {
+        switch (name) {
+            case "logo":
+                return new By[] {
+                        By.xpath("(//header//img[contains(translate(@alt,'LOGO','logo'),'logo')])[1]"
+                                + " | (//img[contains(translate(@alt,'LOGO','logo'),'logo')])[1]"),
+                        Locators.LOGO};
+            case "newsletter email":
+                return new By[] {
+                        By.xpath("(//input[@type='email']"
+                                + " | //input[contains(translate(@name,'EMAIL','email'),'email')]"
+                                + " | //input[contains(translate(@placeholder,'EMAIL','email'),'email')])[1]"),
+                        Locators.NEWSLETTER_EMAIL_INPUT};
+            default:
+                String label = name.substring(name.indexOf(' ') + 1);
+                return name.startsWith("menu ")
+                        ? new By[] {legacyMenuLink(label), Locators.menuLink(label)}
+                        : new By[] {legacyHeaderText(label), Locators.exactText(label)};
+        }
+    }
+
+    private static By legacyMenuLink(String label) {
+        String escaped = label.replace("'", "\\'");
+        return By.xpath("(//header//a[normalize-space()='" + escaped + "']"
+                + " | //nav//a[normalize-space()='" + escaped + "']"
+                + " | //a[normalize-space()='" + escaped + "'])[1]");
+    }
+
+    private static By legacyHeaderText(String text) {
+        String escaped = text.replace("'", "\\'");
+        return By.xpath("(//header//*[normalize-space()='" + escaped + "']"
+                + " | //nav//*[normalize-space()='" + escaped + "']"
+                + " | //*[normalize-space()='" + escaped + "'])[1]");
+    }
+}
@@ -0,0 +1,45 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.UrlUtils;
+
+/**
+ * URL helpers behind navigation checks ({@code NavigationMenuComponent.toAbsoluteUrl} and path comparison).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlNormalizationBenchmark {
+
+    public String baseUrl = "https://thelawreporters.com/";
+    public String relativeHref = "find-lawyer";
+    public String absoluteHref = "https://thelawreporters.com/find-lawyer";
+    public String trailingSlashPath = " /find-lawyer/ ";
+
+    @Benchmark
+    public String toAbsoluteUrlRelative() {
+        return UrlUtils.toAbsoluteUrl(baseUrl, relativeHref);
+    }
+
+    @Benchmark
+    public String toAbsoluteUrlAbsolute() {
+        return UrlUtils.toAbsoluteUrl(baseUrl, absoluteHref);
+    }
+
+    @Benchmark
+    public String normalizePath() {
+        return UrlUtils.normalizePath(trailingSlashPath);
+    }
+}
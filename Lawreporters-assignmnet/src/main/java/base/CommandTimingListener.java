@@ -0,0 +1,86 @@
+package base;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Times every decorated WebDriver/WebElement call and records it in {@link CommandTimings}, tagged with
+ * the locator (for find calls) and the page object that issued it.
+ */
+final class CommandTimingListener implements WebDriverListener {
+
+    // Accessors that only hand out another decorated object; they never reach the browser.
+    private static final Set<String> IGNORED = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args);
+    }
+
+    private void finish(Method method, Object[] args) {
+        Deque<Long> stack = starts.get();
+        if (stack.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stack.pop();
+        if (IGNORED.contains(method.getName())) {
+            return;
+        }
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String locator = args != null && args.length > 0 && args[0] instanceof By ? args[0].toString() : null;
+        CommandTimings.record(command, locator, caller(), elapsed);
+    }
+
+    /**
+     * Nearest page object or component on the stack, else the first frame outside Selenium/JDK code.
+     */
+    private static String caller() {
+        return WALKER.walk(frames -> {
+            String fallback = "unknown";
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.startsWith("pages.") && !className.startsWith("pages.support.")) {
+                    return simpleName(className) + "." + frame.getMethodName();
+                }
+                if ("unknown".equals(fallback) && !isInfrastructure(className)) {
+                    fallback = simpleName(className) + "." + frame.getMethodName();
+                }
+            }
+            return fallback;
+        });
+    }
+
+    private static boolean isInfrastructure(String className) {
+        return className.startsWith("org.openqa.")
+                || className.startsWith("java.")
+                || className.startsWith("jdk.")
+                || className.startsWith("sun.")
+                || className.startsWith("com.sun.")
+                || className.startsWith("pages.support.")
+                || className.startsWith(CommandTimingListener.class.getName());
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,215 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import utils.ConfigManager;
+import utils.LatencyHistogram;
+
+/**
+ * JVM-wide registry of WebDriver command latencies recorded by {@link CommandTimingListener}.
+ * Samples are tagged with the test running on the recording thread and kept per test and per suite
+ * (by command and by locator), plus the slowest individual commands.
+ */
+public final class CommandTimings {
+
+    private static final int TOP_N = Integer.parseInt(ConfigManager.get("command.timing.top.n", "10"));
+    private static final String NO_TEST = "(framework)";
+
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_LOCATOR = new ConcurrentHashMap<>();
+    private static final Map<String, TestTimings> BY_TEST = new ConcurrentHashMap<>();
+    private static final LatencyHistogram ALL = new LatencyHistogram();
+    private static final Slowest SLOWEST = new Slowest(TOP_N);
+
+    private CommandTimings() {
+    }
+
+    /**
+     * Tags commands issued from the current thread with the given test until {@link #endTest()}. A retry
+     * of the same invocation starts a fresh entry; the earlier attempt stays in the report as its own row.
+     */
+    public static void startTest(String testKey) {
+        CURRENT_TEST.set(testKey);
+        TestTimings timings = new TestTimings();
+        TestTimings earlier = BY_TEST.put(testKey, timings);
+        if (earlier != null) {
+            timings.attempt = earlier.attempt + 1;
+            BY_TEST.put(testKey + " (attempt " + earlier.attempt + ")", earlier);
+        }
+    }
+
+    public static void endTest() {
+        CURRENT_TEST.remove();
+    }
+
+    public static TestTimings forTest(String testKey) {
+        return BY_TEST.get(testKey);
+    }
+
+    static void record(String command, String locator, String caller, long nanos) {
+        String test = CURRENT_TEST.get();
+        Sample sample = new Sample(command, locator, caller, test == null ? NO_TEST : test, nanos);
+
+        ALL.record(nanos);
+        BY_COMMAND.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+        if (locator != null) {
+            BY_LOCATOR.computeIfAbsent(locator, key -> new LatencyHistogram()).record(nanos);
+        }
+        SLOWEST.offer(sample);
+        if (test != null) {
+            TestTimings timings = BY_TEST.get(test);
+            if (timings != null) {
+                timings.record(sample);
+            }
+        }
+    }
+
+    /**
+     * Plain-text report of suite-wide and per-test latency percentiles (milliseconds).
+     */
+    public static String report() {
+        String nl = System.lineSeparator();
+        StringBuilder out = new StringBuilder();
+        out.append("WebDriver command latency (ms)").append(nl).append(nl);
+        out.append(headerRow("command")).append(nl);
+        out.append(row("ALL", ALL)).append(nl);
+        new TreeMap<>(BY_COMMAND).forEach((command, histogram) -> out.append(row(command, histogram)).append(nl));
+
+        out.append(nl).append("Slowest locators by p95").append(nl);
+        out.append(headerRow("locator")).append(nl);
+        BY_LOCATOR.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) ->
+                        e.getValue().valueAtPercentile(95)).reversed())
+                .limit(TOP_N)
+                .forEach(e -> out.append(row(e.getKey(), e.getValue())).append(nl));
+
+        out.append(nl).append("Slowest commands").append(nl);
+        for (Sample sample : SLOWEST.snapshot()) {
+            out.append(sample).append(nl);
+        }
+
+        out.append(nl).append("Per test").append(nl);
+        out.append(headerRow("test")).append(nl);
+        new TreeMap<>(BY_TEST).forEach((test, timings) -> out.append(row(test, timings.all)).append(nl));
+        return out.toString();
+    }
+
+    private static String headerRow(String label) {
+        return String.format(Locale.ROOT, "%-70s %7s %9s %9s %9s %9s", label, "count", "p50", "p95", "p99", "max");
+    }
+
+    private static String row(String label, LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%-70s %7d %9.1f %9.1f %9.1f %9.1f",
+                label, histogram.getCount(),
+                millis(histogram.valueAtPercentile(50)), millis(histogram.valueAtPercentile(95)),
+                millis(histogram.valueAtPercentile(99)), millis(histogram.getMax()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Latencies of one test invocation.
+     */
+    public static final class TestTimings {
+
+        private final LatencyHistogram all = new LatencyHistogram();
+        private final Slowest slowest = new Slowest(TOP_N);
+        private volatile int attempt = 1;
+
+        private void record(Sample sample) {
+            all.record(sample.nanos);
+            slowest.offer(sample);
+        }
+
+        public LatencyHistogram getHistogram() {
+            return all;
+        }
+
+        /**
+         * Slowest commands of this test, slowest first.
+         */
+        public List<Sample> getSlowest() {
+            return slowest.snapshot();
+        }
+    }
+
+    /**
+     * One timed command.
+     */
+    public static final class Sample {
+
+        private final String command;
+        private final String locator;
+        private final String caller;
+        private final String test;
+        private final long nanos;
+
+        private Sample(String command, String locator, String caller, String test, long nanos) {
+            this.command = command;
+            this.locator = locator;
+            this.caller = caller;
+            this.test = test;
+            this.nanos = nanos;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public String getLocator() {
+            return locator;
+        }
+
+        public String getCaller() {
+            return caller;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public double getMillis() {
+            return millis(nanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%9.1f ms  %s%s  caller=%s  test=%s",
+                    getMillis(), command, locator == null ? "" : " " + locator, caller, test);
+        }
+    }
+
+    private static final class Slowest {
+
+        private final int limit;
+        private final PriorityQueue<Sample> heap = new PriorityQueue<>(Comparator.comparingLong(s -> s.nanos));
+
+        private Slowest(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized void offer(Sample sample) {
+            if (heap.size() < limit) {
+                heap.add(sample);
+            } else if (limit > 0 && heap.peek().nanos < sample.nanos) {
+                heap.poll();
+                heap.add(sample);
+            }
+        }
+
+        synchronized List<Sample> snapshot() {
+            List<Sample> samples = new ArrayList<>(heap);
+            samples.sort(Comparator.comparingLong((Sample s) -> s.nanos).reversed());
+            return samples;
+        }
+    }
+}
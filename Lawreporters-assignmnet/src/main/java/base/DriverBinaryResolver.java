@@ -0,0 +1,210 @@
+package base;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import utils.ConfigManager;
+
+/**
+ * Resolves browser driver binaries once per JVM per browser and remembers the result in an on-disk
+ * manifest, so later runs (and air-gapped agents with pre-provisioned binaries) skip WebDriverManager's
+ * version detection and network lookups entirely.
+ */
+final class DriverBinaryResolver {
+
+    // Guarded by the class lock; resolution is rare (once per browser) so a single monitor is enough.
+    private static final Map<String, Resolution> RESOLVED = new HashMap<>();
+    private static final Path MANIFEST = Paths.get(ConfigManager.get(
+            "driver.cache.manifest", "target/webdriver-cache/driver-manifest.properties"));
+    private static final boolean OFFLINE = Boolean.parseBoolean(ConfigManager.get("driver.cache.offline", "false"));
+    private static final Duration TTL = Duration.ofHours(Long.parseLong(ConfigManager.get("driver.cache.ttl.hours", "168")));
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Makes the driver binary for the browser available to Selenium.
+     *
+     * @return true when the binary came from the manifest or a pre-provisioned path rather than a fresh lookup
+     */
+    static synchronized boolean resolve(String browser) {
+        String property = driverProperty(browser);
+        if (property == null) {
+            return false;
+        }
+        Resolution resolution = RESOLVED.get(browser);
+        if (resolution == null) {
+            resolution = lookup(browser);
+            RESOLVED.put(browser, resolution);
+        }
+        System.setProperty(property, resolution.driverPath);
+        return resolution.cached;
+    }
+
+    /**
+     * Drops the cached entry (e.g. after the browser auto-updated and the cached driver no longer matches)
+     * so the next {@link #resolve(String)} looks the driver up again.
+     *
+     * @return false, changing nothing, when no other driver could be found: the binary was pre-provisioned
+     *         via {@code -Dwebdriver.<browser>.driver} or {@code driver.cache.offline=true}
+     */
+    static synchronized boolean invalidate(String browser) {
+        Resolution stale = RESOLVED.get(browser);
+        if (OFFLINE || stale == null || stale.provisioned) {
+            return false;
+        }
+        RESOLVED.remove(browser);
+        String property = driverProperty(browser);
+        // Only the value resolve() set; a path the user passed with -D is never cleared.
+        if (property != null && stale.driverPath.equals(System.getProperty(property))) {
+            System.clearProperty(property);
+        }
+        Properties manifest = loadManifest();
+        manifest.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(browser + "."))
+                .forEach(manifest::remove);
+        storeManifest(manifest);
+        return true;
+    }
+
+    static synchronized void recordBrowserVersion(String browser, String browserVersion) {
+        Resolution resolution = RESOLVED.get(browser);
+        if (resolution == null || browserVersion == null || browserVersion.equals(resolution.browserVersion)) {
+            return;
+        }
+        resolution.browserVersion = browserVersion;
+        Properties manifest = loadManifest();
+        manifest.setProperty(browser + ".browser.version", browserVersion);
+        storeManifest(manifest);
+    }
+
+    private static Resolution lookup(String browser) {
+        String property = driverProperty(browser);
+
+        String provisioned = System.getProperty(property);
+        if (provisioned != null && Files.isRegularFile(Paths.get(provisioned))) {
+            return new Resolution(provisioned, null, null, true, true);
+        }
+
+        Resolution fromManifest = fromManifest(browser);
+        if (fromManifest != null) {
+            return fromManifest;
+        }
+
+        if (OFFLINE) {
+            throw new IllegalStateException("No cached " + browser + " driver in " + MANIFEST
+                    + " and driver.cache.offline=true. Pre-provision the binary via -D" + property + "=<path>.");
+        }
+
+        WebDriverManager manager = managerFor(browser);
+        manager.setup();
+        Resolution resolution = new Resolution(
+                manager.getDownloadedDriverPath(), manager.getDownloadedDriverVersion(), null, false, false);
+        Properties manifest = loadManifest();
+        manifest.setProperty(browser + ".driver.path", resolution.driverPath);
+        manifest.setProperty(browser + ".driver.version", String.valueOf(resolution.driverVersion));
+        manifest.setProperty(browser + ".resolved.at", Instant.now().toString());
+        storeManifest(manifest);
+        return resolution;
+    }
+
+    private static Resolution fromManifest(String browser) {
+        Properties manifest = loadManifest();
+        String driverPath = manifest.getProperty(browser + ".driver.path");
+        if (driverPath == null || !Files.isRegularFile(Paths.get(driverPath))) {
+            return null;
+        }
+        String resolvedAt = manifest.getProperty(browser + ".resolved.at");
+        boolean expired = !OFFLINE && !TTL.isZero() && resolvedAt != null
+                && Instant.parse(resolvedAt).plus(TTL).isBefore(Instant.now());
+        if (expired) {
+            return null;
+        }
+        return new Resolution(driverPath,
+                manifest.getProperty(browser + ".driver.version"),
+                manifest.getProperty(browser + ".browser.version"),
+                true, false);
+    }
+
+    private static Properties loadManifest() {
+        Properties manifest = new Properties();
+        if (Files.isRegularFile(MANIFEST)) {
+            try (InputStream inputStream = Files.newInputStream(MANIFEST)) {
+                manifest.load(inputStream);
+            } catch (IOException e) {
+                // Corrupt or concurrently replaced manifest: treat as empty and re-resolve.
+            }
+        }
+        return manifest;
+    }
+
+    private static void storeManifest(Properties manifest) {
+        try {
+            Path directory = MANIFEST.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // Write-then-move so parallel JVMs never read a half-written manifest.
+            Path temp = Files.createTempFile(directory, "driver-manifest", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                manifest.store(outputStream, "Resolved WebDriver binaries");
+            }
+            Files.move(temp, MANIFEST, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Manifest is an optimisation only; resolution still succeeded for this JVM.
+        }
+    }
+
+    private static String driverProperty(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            case "safari":
+                return null;
+            case "chrome":
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            case "chrome":
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static final class Resolution {
+
+        private final String driverPath;
+        private final String driverVersion;
+        private final boolean cached;
+        // Path came from the user's -Dwebdriver.<browser>.driver rather than the manifest or WebDriverManager.
+        private final boolean provisioned;
+        private String browserVersion;
+
+        private Resolution(String driverPath, String driverVersion, String browserVersion, boolean cached,
+                           boolean provisioned) {
+            this.driverPath = driverPath;
+            this.driverVersion = driverVersion;
+            this.browserVersion = browserVersion;
+            this.cached = cached;
+            this.provisioned = provisioned;
+        }
+    }
+}
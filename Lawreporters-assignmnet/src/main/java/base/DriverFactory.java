@@ -1,7 +1,12 @@
 package base;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import java.time.Duration;
+import java.util.TreeMap;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -9,79 +14,193 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.CapabilityType;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import proxy.RecordReplayProxy;
 import utils.ConfigManager;
 
 public final class DriverFactory {
 
     private static final ThreadLocal<WebDriver> TL_DRIVER = new ThreadLocal<>();
+    private static final boolean POOL_ENABLED = Boolean.parseBoolean(ConfigManager.get("driver.pool.enabled", "true"));
+    private static final boolean COMMAND_TIMING_ENABLED =
+            Boolean.parseBoolean(ConfigManager.get("command.timing.enabled", "true"));
+    private static final DriverPool POOL = new DriverPool(
+            Integer.parseInt(ConfigManager.get("driver.pool.max.size", "4")),
+            Integer.parseInt(ConfigManager.get("driver.pool.max.uses", "25")),
+            Duration.ofMinutes(Long.parseLong(ConfigManager.get("driver.pool.max.age.minutes", "30"))),
+            Duration.ofSeconds(Long.parseLong(ConfigManager.get("driver.pool.acquire.timeout.seconds", "120"))));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(POOL::shutdown, "driver-pool-shutdown"));
+    }
 
     private DriverFactory() {
     }
 
     public static WebDriver initDriver(String browserName) {
-        String browser = browserName == null || browserName.isBlank()
+        String browser = (browserName == null || browserName.isBlank()
                 ? ConfigManager.get("browser", "chrome")
-                : browserName;
+                : browserName).toLowerCase();
+
+        MutableCapabilities options = buildOptions(browser);
+        options.setCapability(CapabilityType.PAGE_LOAD_STRATEGY, pageLoadStrategy());
+        applyProxy(browser, options);
+        WebDriver driver = POOL_ENABLED
+                ? POOL.acquire(browser + new TreeMap<>(options.asMap()), () -> createDriver(browser, options))
+                : createDriver(browser, options);
+
+        TL_DRIVER.set(driver);
+        return getDriver();
+    }
+
+    public static WebDriver getDriver() {
+        WebDriver driver = TL_DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("Driver is not initialized. Call initDriver() first.");
+        }
+        return driver;
+    }
 
+    /**
+     * Hands the current thread's driver back to the session pool (reset for the next test),
+     * or quits it when pooling is disabled.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = TL_DRIVER.get();
+        if (driver != null) {
+            if (POOL_ENABLED) {
+                POOL.release(driver);
+            } else {
+                driver.quit();
+            }
+            TL_DRIVER.remove();
+        }
+    }
+
+    /**
+     * Quits the current thread's driver without returning it to the pool.
+     */
+    public static void quitDriver() {
+        WebDriver driver = TL_DRIVER.get();
+        if (driver != null) {
+            if (POOL_ENABLED) {
+                POOL.discard(driver);
+            } else {
+                driver.quit();
+            }
+            TL_DRIVER.remove();
+        }
+    }
+
+    /**
+     * Configured implicit wait, or zero when implicit waits are switched off via implicit.wait.enabled=false.
+     */
+    public static Duration implicitWait() {
+        if (!Boolean.parseBoolean(ConfigManager.get("implicit.wait.enabled", "true"))) {
+            return Duration.ZERO;
+        }
+        return Duration.ofSeconds(Long.parseLong(ConfigManager.get("implicit.wait.seconds", "10")));
+    }
+
+    /**
+     * page.load.strategy: normal waits for every subresource on navigation, eager returns at DOMContentLoaded,
+     * none returns immediately. Page objects then wait only for their own readiness conditions.
+     */
+    private static PageLoadStrategy pageLoadStrategy() {
+        String configured = ConfigManager.get("page.load.strategy", "normal").trim();
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(configured);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unsupported page.load.strategy '" + configured + "' (normal, eager or none)");
+        }
+        return strategy;
+    }
+
+    private static MutableCapabilities buildOptions(String browser) {
         boolean headless = Boolean.parseBoolean(ConfigManager.get("headless", "false"));
-        WebDriver driver;
 
-        switch (browser.toLowerCase()) {
+        switch (browser) {
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 if (headless) {
                     firefoxOptions.addArguments("-headless");
                 }
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
+                return firefoxOptions;
             case "edge":
-                WebDriverManager.edgedriver().setup();
                 EdgeOptions edgeOptions = new EdgeOptions();
                 if (headless) {
                     edgeOptions.addArguments("--headless=new");
                 }
-                driver = new EdgeDriver(edgeOptions);
-                break;
+                return edgeOptions;
             case "safari":
-                SafariOptions safariOptions = new SafariOptions();
-                driver = new SafariDriver(safariOptions);
-                break;
+                return new SafariOptions();
             case "chrome":
             default:
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--remote-allow-origins=*");
                 if (headless) {
                     chromeOptions.addArguments("--headless=new");
                 }
-                driver = new ChromeDriver(chromeOptions);
-                break;
+                return chromeOptions;
         }
+    }
 
-        long implicitWait = Long.parseLong(ConfigManager.get("implicit.wait.seconds", "10"));
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-        driver.manage().window().maximize();
-
-        TL_DRIVER.set(driver);
-        return getDriver();
+    /**
+     * Routes browser traffic through the record/replay proxy when proxy.mode is record or replay.
+     * Safari ignores the proxy capability, so it always talks to the network directly.
+     */
+    private static void applyProxy(String browser, MutableCapabilities options) {
+        RecordReplayProxy recordReplayProxy = RecordReplayProxy.fromConfig();
+        if (recordReplayProxy == null || "safari".equals(browser)) {
+            return;
+        }
+        Proxy proxy = new Proxy();
+        proxy.setHttpProxy(recordReplayProxy.address());
+        proxy.setSslProxy(recordReplayProxy.address());
+        options.setCapability(CapabilityType.PROXY, proxy);
+        // HTTPS is intercepted with the proxy's self-signed key.
+        options.setCapability(CapabilityType.ACCEPT_INSECURE_CERTS, true);
     }
 
-    public static WebDriver getDriver() {
-        WebDriver driver = TL_DRIVER.get();
-        if (driver == null) {
-            throw new IllegalStateException("Driver is not initialized. Call initDriver() first.");
+    private static WebDriver createDriver(String browser, MutableCapabilities options) {
+        boolean cachedBinary = DriverBinaryResolver.resolve(browser);
+        WebDriver driver;
+        try {
+            driver = startDriver(browser, options);
+        } catch (SessionNotCreatedException e) {
+            // Browser probably auto-updated past the cached driver; resolve a matching one and retry once.
+            // Pre-provisioned and offline binaries cannot be replaced, so the original failure surfaces.
+            if (!cachedBinary || !DriverBinaryResolver.invalidate(browser)) {
+                throw e;
+            }
+            DriverBinaryResolver.resolve(browser);
+            driver = startDriver(browser, options);
         }
-        return driver;
+
+        if (driver instanceof HasCapabilities) {
+            DriverBinaryResolver.recordBrowserVersion(browser, ((HasCapabilities) driver).getCapabilities().getBrowserVersion());
+        }
+        driver.manage().timeouts().implicitlyWait(implicitWait());
+        driver.manage().window().maximize();
+        // Decorate once at creation so pooled sessions keep the same (decorated) identity across leases.
+        return COMMAND_TIMING_ENABLED
+                ? new EventFiringDecorator<WebDriver>(new CommandTimingListener()).decorate(driver)
+                : driver;
     }
 
-    public static void quitDriver() {
-        WebDriver driver = TL_DRIVER.get();
-        if (driver != null) {
-            driver.quit();
-            TL_DRIVER.remove();
+    private static WebDriver startDriver(String browser, MutableCapabilities options) {
+        switch (browser) {
+            case "firefox":
+                return new FirefoxDriver((FirefoxOptions) options);
+            case "edge":
+                return new EdgeDriver((EdgeOptions) options);
+            case "safari":
+                return new SafariDriver((SafariOptions) options);
+            case "chrome":
+            default:
+                return new ChromeDriver((ChromeOptions) options);
         }
     }
 }
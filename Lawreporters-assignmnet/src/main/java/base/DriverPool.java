@@ -0,0 +1,251 @@
+package base;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Bounded pool of warm WebDriver sessions keyed by browser + capabilities.
+ * Sessions are reset on release and recycled after a maximum number of uses or age.
+ */
+final class DriverPool {
+
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration maxAge;
+    private final Duration acquireTimeout;
+
+    // Guarded by "this"; most recently released session sits at the head so the warmest one is reused first.
+    private final Map<String, Deque<PooledDriver>> idle = new HashMap<>();
+    private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+    // Guarded by "this"; sessions that exist or are being started (idle + leased + starting).
+    private int open;
+
+    DriverPool(int maxSize, int maxUses, Duration maxAge, Duration acquireTimeout) {
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.maxAge = maxAge;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Leases an idle session of the key, or starts one when the pool has room. A full pool first evicts the
+     * oldest idle session of another key; otherwise the caller waits until a release or destroy frees
+     * either, re-checking in that order on every wake-up.
+     */
+    WebDriver acquire(String key, Supplier<WebDriver> factory) {
+        long deadline = System.nanoTime() + acquireTimeout.toNanos();
+        while (true) {
+            PooledDriver candidate;
+            PooledDriver evicted = null;
+            synchronized (this) {
+                while (true) {
+                    candidate = pollIdle(key);
+                    if (candidate != null || open < maxSize) {
+                        break;
+                    }
+                    // No idle session of this key, so any idle one belongs to another key; its slot becomes ours.
+                    evicted = evictOldestIdle();
+                    if (evicted != null) {
+                        break;
+                    }
+                    awaitChange(deadline);
+                }
+                if (candidate == null && evicted == null) {
+                    open++;
+                }
+            }
+            if (evicted != null) {
+                quitQuietly(evicted.driver);
+            }
+            if (candidate == null) {
+                return start(key, factory);
+            }
+            if (candidate.isExpired() || !isHealthy(candidate.driver)) {
+                destroy(candidate);
+                continue;
+            }
+            return lease(candidate);
+        }
+    }
+
+    void release(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            quitQuietly(driver);
+            return;
+        }
+        if (pooled.isExpired() || !reset(pooled)) {
+            destroy(pooled);
+            return;
+        }
+        synchronized (this) {
+            idle.computeIfAbsent(pooled.key, k -> new ArrayDeque<>()).addFirst(pooled);
+            notifyAll();
+        }
+    }
+
+    void discard(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            quitQuietly(driver);
+            return;
+        }
+        destroy(pooled);
+    }
+
+    void shutdown() {
+        synchronized (this) {
+            for (Deque<PooledDriver> sessions : idle.values()) {
+                sessions.forEach(this::destroy);
+            }
+            idle.clear();
+        }
+        leased.values().forEach(this::destroy);
+        leased.clear();
+    }
+
+    private WebDriver start(String key, Supplier<WebDriver> factory) {
+        try {
+            WebDriver driver = factory.get();
+            return lease(new PooledDriver(key, driver, driver.manage().window().getSize()));
+        } catch (RuntimeException e) {
+            freeSlot();
+            throw e;
+        }
+    }
+
+    private WebDriver lease(PooledDriver pooled) {
+        synchronized (this) {
+            pooled.uses++;
+        }
+        leased.put(pooled.driver, pooled);
+        return pooled.driver;
+    }
+
+    private synchronized PooledDriver pollIdle(String key) {
+        Deque<PooledDriver> sessions = idle.get(key);
+        return sessions == null ? null : sessions.pollFirst();
+    }
+
+    private void awaitChange(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new IllegalStateException("No WebDriver session became available within " + acquireTimeout);
+        }
+        try {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver session", e);
+        }
+    }
+
+    private synchronized PooledDriver evictOldestIdle() {
+        PooledDriver oldest = null;
+        Deque<PooledDriver> owner = null;
+        for (Deque<PooledDriver> sessions : idle.values()) {
+            PooledDriver last = sessions.peekLast();
+            if (last != null && (oldest == null || last.createdAt < oldest.createdAt)) {
+                oldest = last;
+                owner = sessions;
+            }
+        }
+        if (owner != null) {
+            owner.pollLast();
+        }
+        return oldest;
+    }
+
+    private boolean reset(PooledDriver pooled) {
+        WebDriver driver = pooled.driver;
+        try {
+            closeExtraWindows(pooled);
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (driver instanceof HasCdp) {
+                // Clears cookies for every domain, not only the one currently loaded.
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                // Responsive tests may leave a device-metrics override behind.
+                ((HasCdp) driver).executeCdpCommand("Emulation.clearDeviceMetricsOverride", Map.of());
+            }
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            driver.manage().timeouts().implicitlyWait(DriverFactory.implicitWait());
+            driver.manage().window().setSize(pooled.initialSize);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void closeExtraWindows(PooledDriver pooled) {
+        WebDriver driver = pooled.driver;
+        String primary = null;
+        for (String handle : driver.getWindowHandles()) {
+            if (primary == null) {
+                primary = handle;
+                continue;
+            }
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        if (primary != null) {
+            driver.switchTo().window(primary);
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return driver.getWindowHandle() != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledDriver pooled) {
+        quitQuietly(pooled.driver);
+        freeSlot();
+    }
+
+    private synchronized void freeSlot() {
+        open--;
+        notifyAll();
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException ignored) {
+            // Session may already be gone (crashed browser); nothing left to clean up.
+        }
+    }
+
+    private final class PooledDriver {
+
+        private final String key;
+        private final WebDriver driver;
+        private final Dimension initialSize;
+        private final long createdAt = System.nanoTime();
+        private int uses;
+
+        private PooledDriver(String key, WebDriver driver, Dimension initialSize) {
+            this.key = key;
+            this.driver = driver;
+            this.initialSize = initialSize;
+        }
+
+        private boolean isExpired() {
+            return uses >= maxUses || System.nanoTime() - createdAt >= maxAge.toNanos();
+        }
+    }
+}
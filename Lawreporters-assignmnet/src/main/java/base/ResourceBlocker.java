@@ -0,0 +1,344 @@
+package base;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import utils.ConfigManager;
+import utils.HttpProbe;
+
+/**
+ * Blocks third-party widgets and heavy resource types via DevTools {@code Network.setBlockedURLs}, so
+ * {@code document.readyState == complete} no longer waits on analytics, ads and social embeds.
+ * Blocked requests are counted per test; the suite report estimates the bytes saved.
+ */
+public final class ResourceBlocker {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(ConfigManager.get("resource.blocking.enabled", "true"));
+    private static final List<String> PATTERNS = patterns();
+    private static final List<String> SIZED_EXTENSIONS = sizedExtensions();
+    private static final int MAX_SIZE_PROBES = 200;
+
+    private static final Map<WebDriver, Session> SESSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, TestBlocking> BY_TEST = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> BY_URL = new ConcurrentHashMap<>();
+    // Content-Length per probed static resource (query string stripped); -1 when the probe gave no length.
+    private static final Map<String, Long> SIZES = new ConcurrentHashMap<>();
+
+    private ResourceBlocker() {
+    }
+
+    /**
+     * Applies (or clears) the blocklist for the test about to run on this driver. Always called, so a
+     * pooled session leased by a test that opts out never keeps the previous test's blocklist. A retry of
+     * the same invocation counts afresh; the earlier attempt stays in the report as its own row.
+     *
+     * @return whether requests are blocked for this test
+     */
+    public static boolean apply(WebDriver driver, String testKey, boolean block) {
+        WebDriver target = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        if (!(target instanceof HasCdp)) {
+            // Firefox/Safari: no CDP; those sessions load everything.
+            return false;
+        }
+        List<String> urls = ENABLED && block ? PATTERNS : List.of();
+        Session session = SESSIONS.computeIfAbsent(target, Session::new);
+        session.currentTest = urls.isEmpty() ? null : testKey;
+        if (!urls.isEmpty()) {
+            TestBlocking blocking = new TestBlocking();
+            TestBlocking earlier = BY_TEST.put(testKey, blocking);
+            if (earlier != null) {
+                blocking.attempt = earlier.attempt + 1;
+                BY_TEST.put(testKey + " (attempt " + earlier.attempt + ")", earlier);
+            }
+        }
+        session.block(target, urls);
+        return !urls.isEmpty();
+    }
+
+    public static TestBlocking forTest(String testKey) {
+        return BY_TEST.get(testKey);
+    }
+
+    /**
+     * Plain-text report of blocked requests by host. Bytes saved are estimated from HEAD {@code Content-Length}
+     * of the blocked fonts/media only; analytics, ad and social URLs are never requested by the report.
+     */
+    public static String report() {
+        String nl = System.lineSeparator();
+        probeSizes();
+        Map<String, long[]> byHost = new TreeMap<>();
+        long requests = 0;
+        long bytes = 0;
+        int sized = 0;
+        for (Map.Entry<String, AtomicLong> entry : BY_URL.entrySet()) {
+            long count = entry.getValue().get();
+            String resource = staticResource(entry.getKey());
+            long size = resource == null ? -1 : SIZES.getOrDefault(resource, -1L);
+            if (size >= 0) {
+                sized++;
+            }
+            long[] totals = byHost.computeIfAbsent(host(entry.getKey()), key -> new long[2]);
+            totals[0] += count;
+            totals[1] += count * Math.max(0, size);
+            requests += count;
+            bytes += count * Math.max(0, size);
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("Blocked resource requests").append(nl);
+        out.append("Patterns: ").append(ENABLED ? String.join(", ", PATTERNS) : "(disabled)").append(nl);
+        out.append(String.format(Locale.ROOT, "Total: %d requests, ~%d KB saved (%d of %d URLs sized: %s only%s)%n",
+                requests, bytes / 1024, sized, BY_URL.size(), String.join("/", SIZED_EXTENSIONS),
+                isOffline() ? "; not probed in an offline run" : ""));
+        out.append(nl).append(String.format(Locale.ROOT, "%-50s %9s %12s", "host", "requests", "~KB saved")).append(nl);
+        byHost.forEach((host, totals) -> out.append(String.format(Locale.ROOT, "%-50s %9d %12d",
+                host, totals[0], totals[1] / 1024)).append(nl));
+        out.append(nl).append(String.format(Locale.ROOT, "%-70s %9s", "test", "blocked")).append(nl);
+        new TreeMap<>(BY_TEST).forEach((test, blocking) -> out.append(String.format(Locale.ROOT, "%-70s %9d",
+                test, blocking.getCount())).append(nl));
+        return out.toString();
+    }
+
+    private static void recordBlocked(String testKey, String url) {
+        BY_URL.computeIfAbsent(url, key -> new AtomicLong()).incrementAndGet();
+        if (testKey != null) {
+            TestBlocking blocking = BY_TEST.get(testKey);
+            if (blocking != null) {
+                blocking.record(url);
+            }
+        }
+    }
+
+    /**
+     * Content-Length of blocked static resources (fonts/media by extension, query string stripped) not sized
+     * yet, fetched in parallel under the link-check deadline. Each distinct resource is probed at most once
+     * per JVM, however many {@code <test>} blocks report. Responses without a length are left out.
+     */
+    private static void probeSizes() {
+        if (isOffline()) {
+            // Fixture and replay runs must not reach the network.
+            return;
+        }
+        List<CompletableFuture<Void>> probes = new ArrayList<>();
+        HttpProbe probe = HttpProbe.getInstance();
+        BY_URL.keySet().stream()
+                .map(ResourceBlocker::staticResource)
+                .filter(resource -> resource != null && !SIZES.containsKey(resource))
+                .distinct()
+                .limit(Math.max(0, MAX_SIZE_PROBES - SIZES.size()))
+                .forEach(resource -> {
+                    // Claimed before the request, so a probe still running at the deadline is not repeated.
+                    SIZES.put(resource, -1L);
+                    HttpRequest head = HttpRequest.newBuilder(URI.create(resource))
+                            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                            .timeout(probe.requestTimeout())
+                            .build();
+                    probes.add(probe.client().sendAsync(head, HttpResponse.BodyHandlers.discarding())
+                            .thenAccept(response -> response.headers().firstValueAsLong("content-length")
+                                    .ifPresent(length -> SIZES.put(resource, length)))
+                            .exceptionally(e -> null));
+                });
+        if (probes.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(probes.toArray(new CompletableFuture[0]))
+                    .get(Long.parseLong(ConfigManager.get("link.check.deadline.seconds", "30")), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // Deadline hit or interrupted: report what was sized so far.
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The URL without query string and fragment when it names a blocked resource type (font, media, ...),
+     * otherwise null: tracker and ad matches are never replayed.
+     */
+    private static String staticResource(String url) {
+        if (!url.startsWith("http")) {
+            return null;
+        }
+        int end = url.length();
+        for (char separator : new char[] {'?', '#'}) {
+            int index = url.indexOf(separator);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        String stripped = url.substring(0, end);
+        String lower = stripped.toLowerCase(Locale.ROOT);
+        for (String extension : SIZED_EXTENSIONS) {
+            if (lower.endsWith("." + extension)) {
+                return stripped;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOffline() {
+        return Boolean.parseBoolean(ConfigManager.get("fixture.mode", "false"))
+                || "replay".equalsIgnoreCase(ConfigManager.get("proxy.mode", "off"));
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? url : host;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static List<String> patterns() {
+        List<String> patterns = new ArrayList<>();
+        for (String pattern : ConfigManager.get("resource.blocking.patterns", "").split(",")) {
+            if (!pattern.isBlank()) {
+                patterns.add(pattern.trim());
+            }
+        }
+        for (String type : ConfigManager.get("resource.blocking.types", "font,media").split(",")) {
+            for (String extension : extensions(type.trim().toLowerCase(Locale.ROOT))) {
+                patterns.add("*." + extension);
+                patterns.add("*." + extension + "?*");
+            }
+        }
+        return List.copyOf(patterns);
+    }
+
+    private static List<String> sizedExtensions() {
+        List<String> sized = new ArrayList<>();
+        for (String type : ConfigManager.get("resource.blocking.types", "font,media").split(",")) {
+            sized.addAll(extensions(type.trim().toLowerCase(Locale.ROOT)));
+        }
+        return List.copyOf(sized);
+    }
+
+    // Network.setBlockedURLs only matches URLs, so resource types are expressed as file extensions.
+    private static List<String> extensions(String type) {
+        switch (type) {
+            case "image":
+                return List.of("png", "jpg", "jpeg", "gif", "webp", "avif", "ico");
+            case "font":
+                return List.of("woff", "woff2", "ttf", "otf", "eot");
+            case "media":
+                return List.of("mp4", "webm", "ogg", "mp3", "m4a", "mov");
+            default:
+                return List.of();
+        }
+    }
+
+    /**
+     * Blocked requests of one test invocation.
+     */
+    public static final class TestBlocking {
+
+        private final AtomicLong count = new AtomicLong();
+        private final Map<String, AtomicLong> byHost = new ConcurrentHashMap<>();
+        private int attempt = 1;
+
+        private void record(String url) {
+            count.incrementAndGet();
+            byHost.computeIfAbsent(host(url), key -> new AtomicLong()).incrementAndGet();
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * Blocked request count per host, most blocked first.
+         */
+        public Map<String, Long> getByHost() {
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            byHost.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                    .forEach(e -> sorted.put(e.getKey(), e.getValue().get()));
+            return sorted;
+        }
+    }
+
+    /**
+     * Per-browser DevTools session. Blocking and the blocked-request listener share one CDP session so
+     * {@code blockedReason} events are seen; without DevTools the blocklist still applies, uncounted.
+     */
+    private static final class Session {
+
+        // No reference to the driver: it is this entry's weak key, and a quit driver must stay collectable.
+        private final DevTools devTools;
+        // requestId -> URL; loadingFailed carries no URL.
+        private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+        private volatile String currentTest;
+
+        private Session(WebDriver driver) {
+            this.devTools = connect(driver);
+        }
+
+        private DevTools connect(WebDriver driver) {
+            if (!(driver instanceof HasDevTools)) {
+                return null;
+            }
+            try {
+                DevTools tools = ((HasDevTools) driver).getDevTools();
+                tools.createSessionIfThereIsNotOne();
+                tools.send(new Command<>("Network.enable", Map.of()));
+                tools.addListener(event("Network.requestWillBeSent"), this::onRequest);
+                tools.addListener(event("Network.loadingFinished"), params -> inFlight.remove(params.get("requestId")));
+                tools.addListener(event("Network.loadingFailed"), this::onFailed);
+                return tools;
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onRequest(Map<String, Object> params) {
+            Object request = params.get("request");
+            if (request instanceof Map) {
+                inFlight.put((String) params.get("requestId"), (String) ((Map<String, Object>) request).get("url"));
+            }
+        }
+
+        private void onFailed(Map<String, Object> params) {
+            String url = inFlight.remove(params.get("requestId"));
+            if (url != null && params.get("blockedReason") != null) {
+                recordBlocked(currentTest, url);
+            }
+        }
+
+        private void block(WebDriver driver, List<String> urls) {
+            inFlight.clear();
+            if (devTools != null) {
+                devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", urls)));
+            } else {
+                ((HasCdp) driver).executeCdpCommand("Network.enable", Map.of());
+                ((HasCdp) driver).executeCdpCommand("Network.setBlockedURLs", Map.of("urls", urls));
+            }
+        }
+
+        private static Event<Map<String, Object>> event(String method) {
+            return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+        }
+    }
+}
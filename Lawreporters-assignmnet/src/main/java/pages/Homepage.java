@@ -1,65 +1,60 @@
 package pages;
 
-import java.time.Duration;
-import java.util.ArrayList;
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import pages.support.AdaptiveWait;
+import pages.support.DomSnapshot;
+import pages.support.ElementPresence;
+import pages.support.Locators;
+import pages.support.PageMetrics;
+import pages.support.Readiness;
+import pages.support.WaitProfile;
+import pages.support.Waits;
+import utils.ConfigManager;
 
 public class Homepage {
 
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final AdaptiveWait wait;
 
     private static final By HOME_MARKER = By.xpath("//body");
-    private static final By BREAKING_NEWS = By.xpath("//*[normalize-space()='Breaking News']");
-    private static final By NEWSLETTER_HEADING = By.xpath("//*[contains(normalize-space(),\"Our Weekly Newsletter\")]");
-    private static final By NEWSLETTER_SUBSCRIBE_BUTTON = By.xpath(
-            "//button[contains(normalize-space(),'Subscribe')]"
-                    + " | //input[@type='submit' and contains(@value,'Subscribe')]"
-                    + " | //a[contains(normalize-space(),'Subscribe')]");
-    private static final By NEWSLETTER_INPUT = By.xpath(
-            "//input[@type='email']"
-                    + " | //input[contains(translate(@name,'EMAIL','email'),'email')]"
-                    + " | //input[contains(translate(@placeholder,'EMAIL','email'),'email')]");
-    private static final By COOKIE_ACCEPT = By.xpath("//button[normalize-space()='Accept']");
-    private static final By LOGO = By.xpath(
-            "(//header//img[contains(translate(@alt,'LOGO','logo'),'logo')])[1]"
-                    + " | (//img[contains(translate(@alt,'LOGO','logo'),'logo')])[1]");
+    private static final Readiness READY = Readiness.visible("home page rendered", HOME_MARKER);
 
     public Homepage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        this.wait = Waits.forProfile(driver, WaitProfile.PAGE);
     }
 
     public void waitForHomePageToLoad() {
-        wait.until(ExpectedConditions.presenceOfElementLocated(HOME_MARKER));
-        wait.until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+        READY.await(wait);
+        PageMetrics.capture(driver, "home");
     }
 
     public boolean isHomePageLoaded() {
-        return isTitlePresent() && getCurrentUrl().contains("thelawreporters.com");
+        return isTitlePresent() && isOnConfiguredSite();
     }
 
     public List<String> getMissingNavigationItems(List<String> expectedMenuItems) {
-        List<String> missing = new ArrayList<>();
+        Map<String, By> locators = new LinkedHashMap<>();
         for (String item : expectedMenuItems) {
-            if (!isHeaderTextVisible(item)) {
-                missing.add(item);
-            }
+            locators.put(item, Locators.exactText(item));
         }
-        return missing;
+        return DomSnapshot.awaitAllVisible(driver, locators, wait).keysNotVisible();
     }
 
     public boolean isLogoDisplayed() {
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(LOGO)).isDisplayed();
+            return wait.until(ExpectedConditions.visibilityOfElementLocated(Locators.LOGO)).isDisplayed();
         } catch (TimeoutException e) {
             return false;
         }
@@ -68,11 +63,11 @@ public class Homepage {
     public boolean isLogoClickableAndNavigatesHome() {
         try {
             dismissCookieBannerIfPresent();
-            WebElement logoElement = wait.until(ExpectedConditions.elementToBeClickable(LOGO));
+            WebElement logoElement = wait.until(ExpectedConditions.elementToBeClickable(Locators.LOGO));
             WebElement linkElement = logoElement.findElement(By.xpath("./ancestor::a[1]"));
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", linkElement);
             waitForHomePageToLoad();
-            return getCurrentUrl().contains("thelawreporters.com");
+            return isOnConfiguredSite();
         } catch (NoSuchElementException | TimeoutException e) {
             return false;
         }
@@ -80,21 +75,22 @@ public class Homepage {
 
     public boolean isBreakingNewsSectionPresent() {
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(BREAKING_NEWS)).isDisplayed();
+            return wait.until(ExpectedConditions.visibilityOfElementLocated(Locators.BREAKING_NEWS)).isDisplayed();
         } catch (TimeoutException e) {
             return false;
         }
     }
 
     public boolean isNewsletterFormVisible() {
-        boolean headingVisible = isElementVisible(NEWSLETTER_HEADING);
-        boolean subscribeVisible = isElementVisible(NEWSLETTER_SUBSCRIBE_BUTTON);
-        boolean inputVisible = isElementVisible(NEWSLETTER_INPUT);
-        return headingVisible && subscribeVisible && inputVisible;
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("heading", Locators.NEWSLETTER_HEADING);
+        locators.put("subscribe", Locators.NEWSLETTER_SUBSCRIBE_BUTTON);
+        locators.put("input", Locators.NEWSLETTER_EMAIL_INPUT);
+        return DomSnapshot.awaitAllVisible(driver, locators, wait).allVisible();
     }
 
     public void dismissCookieBannerIfPresent() {
-        List<WebElement> buttons = driver.findElements(COOKIE_ACCEPT);
+        List<WebElement> buttons = ElementPresence.findNow(driver, Locators.COOKIE_ACCEPT);
         if (!buttons.isEmpty()) {
             try {
                 WebElement accept = buttons.get(0);
@@ -107,6 +103,27 @@ public class Homepage {
         }
     }
 
+    /**
+     * True when the browser is on the host configured as {@code base.url} (the live site or the fixture server)
+     * or a subdomain of it, so the live site's redirects to {@code www.} still count. The port only has to
+     * match when {@code base.url} names one.
+     */
+    private boolean isOnConfiguredSite() {
+        try {
+            URI expected = URI.create(ConfigManager.get("base.url", "https://thelawreporters.com/"));
+            URI actual = URI.create(getCurrentUrl());
+            if (expected.getHost() == null || actual.getHost() == null) {
+                return false;
+            }
+            String site = expected.getHost().toLowerCase(Locale.ROOT).replaceFirst("^www\\.", "");
+            String host = actual.getHost().toLowerCase(Locale.ROOT);
+            boolean sameSite = host.equals(site) || host.endsWith("." + site);
+            return sameSite && (expected.getPort() == -1 || expected.getPort() == actual.getPort());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     public String getCurrentUrl() {
         return driver.getCurrentUrl();
     }
@@ -118,21 +135,4 @@ public class Homepage {
     public boolean isTitlePresent() {
         return driver.getTitle() != null && !driver.getTitle().isBlank();
     }
-
-    private boolean isHeaderTextVisible(String text) {
-        String escaped = text.replace("'", "\\'");
-        By locator = By.xpath(
-                "(//header//*[normalize-space()='" + escaped + "']"
-                        + " | //nav//*[normalize-space()='" + escaped + "']"
-                        + " | //*[normalize-space()='" + escaped + "'])[1]");
-        return isElementVisible(locator);
-    }
-
-    private boolean isElementVisible(By locator) {
-        try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator)).isDisplayed();
-        } catch (TimeoutException e) {
-            return false;
-        }
-    }
 }
@@ -0,0 +1,211 @@
+package pages.components;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import utils.ConfigManager;
+
+/**
+ * Learns once per JVM which cookies and storage entries the site writes when the cookie banner is
+ * accepted, and replays them into fresh sessions so the banner never renders for ordinary tests.
+ */
+public final class ConsentStateStore {
+
+    // One learn per base URL; callers for other sites never wait on it.
+    private static final Map<String, CompletableFuture<LearnedConsent>> LEARNED = new ConcurrentHashMap<>();
+
+    private ConsentStateStore() {
+    }
+
+    /**
+     * Injects the accepted-consent state for the site's origin. The first call learns the state by
+     * accepting the real banner with this driver; later calls only replay it.
+     */
+    public static void seed(WebDriver driver, String baseUrl) {
+        LearnedConsent consent = learnedFor(driver, baseUrl);
+        if (consent.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (consent.localStorage.isEmpty() && consent.sessionStorage.isEmpty() && driver instanceof HasCdp) {
+                // Chromium sets cookies for a URL without loading it, which saves the seeding navigation.
+                for (Cookie cookie : consent.cookies) {
+                    ((HasCdp) driver).executeCdpCommand("Network.setCookie", cdpCookie(cookie, baseUrl));
+                }
+                return;
+            }
+            // Cookies and storage can only be written for the document's origin, so load a cheap same-origin page first.
+            driver.get(URI.create(baseUrl).resolve(ConfigManager.get("consent.seed.path", "/robots.txt")).toString());
+            for (Cookie cookie : consent.cookies) {
+                driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                        .path(cookie.getPath())
+                        .expiresOn(cookie.getExpiry())
+                        .isSecure(cookie.isSecure())
+                        .isHttpOnly(cookie.isHttpOnly())
+                        .sameSite(cookie.getSameSite())
+                        .build());
+            }
+            if (!consent.localStorage.isEmpty() || !consent.sessionStorage.isEmpty()) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "var local = arguments[0], session = arguments[1];"
+                                + "Object.keys(local).forEach(function (k) { localStorage.setItem(k, local[k]); });"
+                                + "Object.keys(session).forEach(function (k) { sessionStorage.setItem(k, session[k]); });",
+                        consent.localStorage, consent.sessionStorage);
+            }
+        } catch (WebDriverException e) {
+            // Seeding is only a shortcut; page objects still dismiss the banner if it shows up.
+        }
+    }
+
+    private static LearnedConsent learnedFor(WebDriver driver, String baseUrl) {
+        while (true) {
+            CompletableFuture<LearnedConsent> learning = new CompletableFuture<>();
+            CompletableFuture<LearnedConsent> existing = LEARNED.putIfAbsent(baseUrl, learning);
+            if (existing != null) {
+                try {
+                    return existing.join();
+                } catch (RuntimeException e) {
+                    // The learning caller failed unexpectedly and dropped its entry; learn with this driver instead.
+                    continue;
+                }
+            }
+            try {
+                LearnedConsent consent;
+                try {
+                    consent = learn(driver, baseUrl);
+                } catch (WebDriverException e) {
+                    // Like the replay, learning must never fail setup; tests fall back to dismissing the banner.
+                    consent = LearnedConsent.EMPTY;
+                }
+                // Cached even when empty or failed, so a site without a banner is not re-probed by every test.
+                learning.complete(consent);
+                return consent;
+            } catch (RuntimeException e) {
+                LEARNED.remove(baseUrl, learning);
+                learning.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private static Map<String, Object> cdpCookie(Cookie cookie, String baseUrl) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", cookie.getName());
+        params.put("value", cookie.getValue());
+        params.put("url", baseUrl);
+        if (cookie.getPath() != null) {
+            params.put("path", cookie.getPath());
+        }
+        params.put("secure", cookie.isSecure());
+        params.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getSameSite() != null) {
+            params.put("sameSite", cookie.getSameSite());
+        }
+        if (cookie.getExpiry() != null) {
+            params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+        }
+        return params;
+    }
+
+    private static LearnedConsent learn(WebDriver driver, String baseUrl) {
+        CookieConsentComponent cookieConsent = new CookieConsentComponent(driver);
+        driver.get(baseUrl);
+        cookieConsent.clearAllCookiesAndStorage();
+        driver.navigate().refresh();
+
+        if (!cookieConsent.isBannerVisible()) {
+            return LearnedConsent.EMPTY;
+        }
+        Set<String> cookiesBefore = cookieNames(driver);
+        Map<String, String> before = cookieConsent.captureConsentState();
+        cookieConsent.clickAccept();
+        if (!cookieConsent.isBannerHidden()) {
+            return LearnedConsent.EMPTY;
+        }
+        Map<String, String> after = cookieConsent.captureConsentState();
+        if (!cookieConsent.hasAnyPreferenceStored(before, after)) {
+            return LearnedConsent.EMPTY;
+        }
+
+        // HttpOnly consent cookies are invisible to document.cookie, so diff the WebDriver cookie jar instead.
+        List<Cookie> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            if (!cookiesBefore.contains(cookie.getName())) {
+                cookies.add(cookie);
+            }
+        }
+        return new LearnedConsent(cookies,
+                addedEntries(before.get("localStorage"), after.get("localStorage")),
+                addedEntries(before.get("sessionStorage"), after.get("sessionStorage")));
+    }
+
+    private static Set<String> cookieNames(WebDriver driver) {
+        Set<String> names = new HashSet<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            names.add(cookie.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Entries present (or changed) in the "key=value;key=value" snapshot after the decision.
+     */
+    private static Map<String, String> addedEntries(String before, String after) {
+        Map<String, String> previous = parseEntries(before);
+        Map<String, String> added = new LinkedHashMap<>();
+        parseEntries(after).forEach((key, value) -> {
+            if (!value.equals(previous.get(key))) {
+                added.put(key, value);
+            }
+        });
+        return added;
+    }
+
+    private static Map<String, String> parseEntries(String snapshot) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        if (snapshot == null || snapshot.isBlank()) {
+            return entries;
+        }
+        for (String entry : snapshot.split(";")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                entries.put(entry.substring(0, separator).trim(), entry.substring(separator + 1));
+            }
+        }
+        return entries;
+    }
+
+    private static final class LearnedConsent {
+
+        private static final LearnedConsent EMPTY =
+                new LearnedConsent(Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap());
+
+        private final List<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+
+        private LearnedConsent(List<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+        }
+
+        private boolean isEmpty() {
+            return cookies.isEmpty() && localStorage.isEmpty() && sessionStorage.isEmpty();
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package pages.components;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import org.openqa.selenium.By;
@@ -9,38 +8,34 @@ import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.support.AdaptiveWait;
+import pages.support.ElementPresence;
+import pages.support.PageMetrics;
+import pages.support.Readiness;
+import pages.support.WaitProfile;
+import pages.support.Waits;
 
 public class ContactFormComponent {
 
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final AdaptiveWait wait;
 
     private static final By CONTACT_FORM = By.xpath("(//form[.//textarea or .//input])[1]");
-    private static final By NAME_FIELD = By.xpath(
-            "(//input[contains(translate(@name,'NAME','name'),'name')"
-                    + " or contains(translate(@id,'NAME','name'),'name')"
-                    + " or contains(translate(@placeholder,'NAME','name'),'name')])[1]");
-    private static final By EMAIL_FIELD = By.xpath(
-            "(//input[@type='email'"
-                    + " or contains(translate(@name,'EMAIL','email'),'email')"
-                    + " or contains(translate(@id,'EMAIL','email'),'email')])[1]");
-    private static final By PHONE_FIELD = By.xpath(
-            "(//input[@type='tel'"
-                    + " or contains(translate(@name,'PHONE','phone'),'phone')"
-                    + " or contains(translate(@name,'MOBILE','mobile'),'mobile')"
-                    + " or contains(translate(@id,'PHONE','phone'),'phone')])[1]");
-    private static final By SUBJECT_FIELD = By.xpath(
-            "(//input[contains(translate(@name,'SUBJECT','subject'),'subject')"
-                    + " or contains(translate(@id,'SUBJECT','subject'),'subject')])[1]");
-    private static final By MESSAGE_FIELD = By.xpath(
-            "(//textarea[contains(translate(@name,'MESSAGE','message'),'message')"
-                    + " or contains(translate(@id,'MESSAGE','message'),'message')"
-                    + " or @rows])[1]");
+    private static final By NAME_FIELD = By.cssSelector(
+            "input[name*='name' i], input[id*='name' i], input[placeholder*='name' i]");
+    private static final By EMAIL_FIELD = By.cssSelector(
+            "input[type='email'], input[name*='email' i], input[id*='email' i]");
+    private static final By PHONE_FIELD = By.cssSelector(
+            "input[type='tel'], input[name*='phone' i], input[name*='mobile' i], input[id*='phone' i]");
+    private static final By SUBJECT_FIELD = By.cssSelector(
+            "input[name*='subject' i], input[id*='subject' i]");
+    private static final By MESSAGE_FIELD = By.cssSelector(
+            "textarea[name*='message' i], textarea[id*='message' i], textarea[rows]");
+    // Button text has no CSS equivalent; fold only the letters of "send"/"submit" instead of the whole alphabet.
     private static final By SUBMIT_BUTTON = By.xpath(
             "(//button[@type='submit'"
-                    + " or contains(translate(normalize-space(),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'send')"
-                    + " or contains(translate(normalize-space(),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'submit')]"
+                    + " or contains(translate(normalize-space(),'SEND','send'),'send')"
+                    + " or contains(translate(normalize-space(),'SUBMIT','submit'),'submit')]"
                     + " | //input[@type='submit'])[1]");
 
     private static final By INLINE_ERRORS = By.xpath(
@@ -50,17 +45,20 @@ public class ContactFormComponent {
                     + " or contains(@class,'wpcf7-not-valid-tip')"
                     + "][string-length(normalize-space())>0]");
 
+    private static final Readiness FORM_READY = Readiness.visible("contact form rendered", CONTACT_FORM)
+            .and(Readiness.interactive("contact form interactive", EMAIL_FIELD, MESSAGE_FIELD))
+            .onUrlContaining("/contact-us");
+
     public ContactFormComponent(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = Waits.forProfile(driver, WaitProfile.ELEMENT);
     }
 
     public void openContactPage(String baseUrl) {
         String normalizedBase = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         driver.get(normalizedBase + "/contact-us");
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
-        wait.until(ExpectedConditions.visibilityOfElementLocated(CONTACT_FORM));
-        waitForDocumentReady();
+        FORM_READY.await(wait);
+        PageMetrics.capture(driver, "contact-us");
     }
 
     public boolean isContactPageLoaded() {
@@ -119,7 +117,7 @@ public class ContactFormComponent {
         }
 
         if (messages.isEmpty()) {
-            List<WebElement> inlineErrors = driver.findElements(INLINE_ERRORS);
+            List<WebElement> inlineErrors = ElementPresence.findNow(driver, INLINE_ERRORS);
             for (WebElement error : inlineErrors) {
                 String text = error.getText().trim();
                 if (!text.isBlank()) {
@@ -137,7 +135,7 @@ public class ContactFormComponent {
     }
 
     public boolean isPhoneFieldPresent() {
-        return !driver.findElements(PHONE_FIELD).isEmpty();
+        return ElementPresence.isPresentNow(driver, PHONE_FIELD);
     }
 
     public String getPhoneValidationMessage() {
@@ -149,7 +147,7 @@ public class ContactFormComponent {
     }
 
     public int getMessageMaxLength() {
-        List<WebElement> fields = driver.findElements(MESSAGE_FIELD);
+        List<WebElement> fields = ElementPresence.findNow(driver, MESSAGE_FIELD);
         if (fields.isEmpty()) {
             return -1;
         }
@@ -165,7 +163,7 @@ public class ContactFormComponent {
     }
 
     public int getMessageCurrentLength() {
-        List<WebElement> fields = driver.findElements(MESSAGE_FIELD);
+        List<WebElement> fields = ElementPresence.findNow(driver, MESSAGE_FIELD);
         if (fields.isEmpty()) {
             return -1;
         }
@@ -190,7 +188,7 @@ public class ContactFormComponent {
     }
 
     private void typeIfPresent(By locator, String value) {
-        List<WebElement> fields = driver.findElements(locator);
+        List<WebElement> fields = ElementPresence.findNow(driver, locator);
         if (!fields.isEmpty()) {
             WebElement field = wait.until(ExpectedConditions.visibilityOf(fields.get(0)));
             field.clear();
@@ -199,14 +197,14 @@ public class ContactFormComponent {
     }
 
     private void clearIfPresent(By locator) {
-        List<WebElement> fields = driver.findElements(locator);
+        List<WebElement> fields = ElementPresence.findNow(driver, locator);
         if (!fields.isEmpty()) {
             fields.get(0).clear();
         }
     }
 
     private void addIfPresent(List<WebElement> list, By locator) {
-        List<WebElement> matches = driver.findElements(locator);
+        List<WebElement> matches = ElementPresence.findNow(driver, locator);
         if (!matches.isEmpty()) {
             list.add(matches.get(0));
         }
@@ -217,8 +215,4 @@ public class ContactFormComponent {
                 .executeScript("return arguments[0].validationMessage || ''", field);
         return String.valueOf(message).trim();
     }
-
-    private void waitForDocumentReady() {
-        wait.until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
-    }
 }
@@ -1,8 +1,6 @@
 package pages.components;
 
-import java.time.Duration;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
@@ -10,12 +8,15 @@ import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.support.AdaptiveWait;
+import pages.support.ElementPresence;
+import pages.support.WaitProfile;
+import pages.support.Waits;
 
 public class CookieConsentComponent {
 
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final AdaptiveWait wait;
 
     private static final By BANNER_TEXT = By.xpath("//*[contains(translate(normalize-space(),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'this website uses cookies')]");
     private static final By ACCEPT_BUTTON = By.xpath("//button[normalize-space()='Accept'] | //a[normalize-space()='Accept']");
@@ -23,7 +24,7 @@ public class CookieConsentComponent {
 
     public CookieConsentComponent(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = Waits.forProfile(driver, WaitProfile.BANNER);
     }
 
     public boolean isBannerVisible() {
@@ -88,8 +89,7 @@ public class CookieConsentComponent {
     }
 
     private boolean isElementVisible(By locator) {
-        List<WebElement> elements = driver.findElements(locator);
-        return !elements.isEmpty() && elements.get(0).isDisplayed();
+        return ElementPresence.isVisibleNow(driver, locator);
     }
 
     private void clickElement(By locator) {
@@ -1,55 +1,67 @@
 package pages.components;
 
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.support.AdaptiveWait;
+import pages.support.ElementPresence;
+import pages.support.Locators;
+import pages.support.PageMetrics;
+import pages.support.Readiness;
+import pages.support.WaitProfile;
+import pages.support.Waits;
+import utils.ConfigManager;
+import utils.HttpProbe;
+import utils.LinkStatus;
+import utils.LinkStatusChecker;
+import utils.UrlUtils;
 
 public class NavigationMenuComponent {
 
+    private static final Readiness MENU_READY = Readiness.visible("navigation menu rendered", By.cssSelector("nav, header"));
+
     private final WebDriver driver;
-    private final WebDriverWait wait;
-    private final HttpClient httpClient;
+    private final AdaptiveWait wait;
+    private final LinkStatusChecker linkStatusChecker;
 
-    private static final By COOKIE_ACCEPT = By.xpath("//button[normalize-space()='Accept']");
+    private static final Duration LINK_CHECK_DEADLINE =
+            Duration.ofSeconds(Long.parseLong(ConfigManager.get("link.check.deadline.seconds", "30")));
 
     public NavigationMenuComponent(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        this.httpClient = HttpClient.newBuilder()
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .connectTimeout(Duration.ofSeconds(15))
-                .build();
+        this.wait = Waits.forProfile(driver, WaitProfile.ELEMENT);
+        this.linkStatusChecker = new LinkStatusChecker(HttpProbe.getInstance().client(),
+                Integer.parseInt(ConfigManager.get("link.check.max.per.host", "4")),
+                HttpProbe.getInstance().requestTimeout());
     }
 
     public void waitUntilMenuReady() {
-        wait.until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.tagName("body")));
+        MENU_READY.await(wait);
     }
 
     public String getMenuLinkHref(String menuLabel) {
         dismissCookieBannerIfPresent();
-        WebElement menuLink = wait.until(ExpectedConditions.visibilityOfElementLocated(menuLinkBy(menuLabel)));
+        WebElement menuLink = wait.until(ExpectedConditions.visibilityOfElementLocated(Locators.menuLink(menuLabel)));
         return menuLink.getAttribute("href");
     }
 
     public void clickMenu(String menuLabel) {
         dismissCookieBannerIfPresent();
-        WebElement menuLink = wait.until(ExpectedConditions.elementToBeClickable(menuLinkBy(menuLabel)));
+        WebElement menuLink = wait.until(ExpectedConditions.elementToBeClickable(Locators.menuLink(menuLabel)));
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", menuLink);
     }
 
     public boolean isOnPath(String expectedPath) {
         String actualPath = currentPath();
-        String normalizedExpected = normalizePath(expectedPath);
+        String normalizedExpected = UrlUtils.normalizePath(expectedPath);
         return actualPath.equals(normalizedExpected);
     }
 
@@ -59,87 +71,47 @@ public class NavigationMenuComponent {
     }
 
     public int getUrlStatusCode(String absoluteUrl) {
-        try {
-            // Try HEAD first (faster); if blocked by server, fallback to GET.
-            HttpRequest headRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(absoluteUrl))
-                    .timeout(Duration.ofSeconds(20))
-                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
-                    .build();
-            HttpResponse<Void> headResponse = httpClient.send(headRequest, HttpResponse.BodyHandlers.discarding());
-            if (headResponse.statusCode() < 400) {
-                return headResponse.statusCode();
-            }
+        return getUrlStatuses(List.of(absoluteUrl)).get(absoluteUrl).getStatusCode();
+    }
 
-            HttpRequest getRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(absoluteUrl))
-                    .timeout(Duration.ofSeconds(20))
-                    .GET()
-                    .build();
-            HttpResponse<Void> getResponse = httpClient.send(getRequest, HttpResponse.BodyHandlers.discarding());
-            return getResponse.statusCode();
-        } catch (Exception e) {
-            return 0;
-        }
+    /**
+     * Checks all URLs concurrently (bounded per host) within one shared deadline.
+     */
+    public Map<String, LinkStatus> getUrlStatuses(Collection<String> absoluteUrls) {
+        return linkStatusChecker.check(absoluteUrls, LINK_CHECK_DEADLINE);
     }
 
     public String toAbsoluteUrl(String baseUrl, String href) {
-        if (href == null || href.isBlank()) {
-            return "";
-        }
-        if (href.startsWith("http://") || href.startsWith("https://")) {
-            return href;
-        }
-        String normalizedBase = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-        String normalizedHref = href.startsWith("/") ? href : "/" + href;
-        return normalizedBase + normalizedHref;
+        return UrlUtils.toAbsoluteUrl(baseUrl, href);
     }
 
     public void waitForPageNavigation(String expectedPath) {
-        String normalizedExpected = normalizePath(expectedPath);
+        String normalizedExpected = UrlUtils.normalizePath(expectedPath);
         wait.until(d -> currentPath().equals(normalizedExpected));
-    }
-
-    private By menuLinkBy(String label) {
-        String escaped = label.replace("'", "\\'");
-        // Fallback locator chain for slightly different header/nav structures.
-        return By.xpath(
-                "(//header//a[normalize-space()='" + escaped + "']"
-                        + " | //nav//a[normalize-space()='" + escaped + "']"
-                        + " | //a[normalize-space()='" + escaped + "'])[1]");
+        PageMetrics.capture(driver, PageMetrics.pageName(normalizedExpected));
     }
 
     private String currentPath() {
         try {
             URI uri = URI.create(driver.getCurrentUrl());
-            return normalizePath(uri.getPath());
+            return UrlUtils.normalizePath(uri.getPath());
         } catch (Exception e) {
             return "";
         }
     }
 
-    private String normalizePath(String path) {
-        if (path == null || path.isBlank()) {
-            return "/";
-        }
-        String normalized = path.trim();
-        if (!normalized.startsWith("/")) {
-            normalized = "/" + normalized;
-        }
-        if (normalized.length() > 1 && normalized.endsWith("/")) {
-            normalized = normalized.substring(0, normalized.length() - 1);
-        }
-        return normalized;
-    }
-
     private void dismissCookieBannerIfPresent() {
-        try {
-            WebElement accept = wait.until(ExpectedConditions.visibilityOfElementLocated(COOKIE_ACCEPT));
-            if (accept.isDisplayed()) {
-                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", accept);
+        // Consent is normally pre-seeded, so probe instantly instead of waiting for a button that is not coming.
+        List<WebElement> accepts = ElementPresence.findNow(driver, Locators.COOKIE_ACCEPT);
+        if (!accepts.isEmpty()) {
+            try {
+                WebElement accept = accepts.get(0);
+                if (accept.isDisplayed()) {
+                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", accept);
+                }
+            } catch (StaleElementReferenceException ignored) {
+                // Banner closed between lookup and click.
             }
-        } catch (TimeoutException ignored) {
-            // Cookie banner might not be present after preference is already stored.
         }
     }
 }
@@ -1,6 +1,5 @@
 package pages.components;
 
-import java.time.Duration;
 import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
@@ -8,26 +7,20 @@ import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.support.AdaptiveWait;
+import pages.support.ElementPresence;
+import pages.support.Locators;
+import pages.support.Readiness;
+import pages.support.WaitProfile;
+import pages.support.Waits;
 
 public class NewsletterComponent {
 
     private final WebDriver driver;
-    private final WebDriverWait wait;
-
-    private static final By COOKIE_ACCEPT = By.xpath("//button[normalize-space()='Accept']");
-    private static final By EMAIL_INPUT = By.xpath(
-            "(//input[@type='email']"
-                    + " | //input[contains(translate(@name,'EMAIL','email'),'email')]"
-                    + " | //input[contains(translate(@placeholder,'EMAIL','email'),'email')])[1]");
-    private static final By SUBSCRIBE_BUTTON = By.xpath(
-            "(//button[contains(normalize-space(),'Subscribe')]"
-                    + " | //input[@type='submit' and contains(@value,'Subscribe')]"
-                    + " | //a[contains(normalize-space(),'Subscribe')])[1]");
-    private static final By TERMS_CHECKBOX = By.xpath(
-            "(//input[@type='checkbox'][contains(translate(@name,'TERMS','terms'),'term')"
-                    + " or contains(translate(@id,'TERMS','terms'),'term')]"
-                    + " | //input[@type='checkbox'])[1]");
+    private final AdaptiveWait wait;
+
+    // Terms-specific checkboxes are a subset of all checkboxes, so the first checkbox is the same match.
+    private static final By TERMS_CHECKBOX = By.cssSelector("input[type='checkbox']");
     private static final By RESPONSE_MESSAGE = By.xpath(
             "(//*[contains(@class,'message') or contains(@class,'alert')"
                     + " or contains(@class,'error') or contains(@class,'success')]"
@@ -37,39 +30,44 @@ public class NewsletterComponent {
                     + " and (contains(translate(normalize-space(),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'accept')"
                     + " or contains(translate(normalize-space(),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'required'))]");
 
+    private static final Readiness FORM_READY = Readiness.attached("newsletter form attached",
+            Locators.NEWSLETTER_EMAIL_INPUT, Locators.NEWSLETTER_SUBSCRIBE_BUTTON);
+
     public NewsletterComponent(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(12));
+        this.wait = Waits.forProfile(driver, WaitProfile.FORM);
     }
 
     public void prepareForm() {
         dismissCookieBannerIfPresent();
-        WebElement emailField = wait.until(ExpectedConditions.visibilityOfElementLocated(EMAIL_INPUT));
+        FORM_READY.await(wait);
+        WebElement emailField = driver.findElement(Locators.NEWSLETTER_EMAIL_INPUT);
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", emailField);
+        wait.until(ExpectedConditions.visibilityOf(emailField));
     }
 
     public boolean isFormVisible() {
-        return isElementVisible(EMAIL_INPUT) && isElementVisible(SUBSCRIBE_BUTTON);
+        return isElementVisible(Locators.NEWSLETTER_EMAIL_INPUT) && isElementVisible(Locators.NEWSLETTER_SUBSCRIBE_BUTTON);
     }
 
     public void enterEmail(String email) {
-        WebElement emailField = wait.until(ExpectedConditions.visibilityOfElementLocated(EMAIL_INPUT));
+        WebElement emailField = wait.until(ExpectedConditions.visibilityOfElementLocated(Locators.NEWSLETTER_EMAIL_INPUT));
         emailField.clear();
         emailField.sendKeys(email);
     }
 
     public void clearEmail() {
-        WebElement emailField = wait.until(ExpectedConditions.visibilityOfElementLocated(EMAIL_INPUT));
+        WebElement emailField = wait.until(ExpectedConditions.visibilityOfElementLocated(Locators.NEWSLETTER_EMAIL_INPUT));
         emailField.clear();
     }
 
     public void clickSubscribe() {
-        WebElement subscribe = wait.until(ExpectedConditions.elementToBeClickable(SUBSCRIBE_BUTTON));
+        WebElement subscribe = wait.until(ExpectedConditions.elementToBeClickable(Locators.NEWSLETTER_SUBSCRIBE_BUTTON));
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", subscribe);
     }
 
     public String getEmailValidationMessage() {
-        WebElement emailField = wait.until(ExpectedConditions.visibilityOfElementLocated(EMAIL_INPUT));
+        WebElement emailField = wait.until(ExpectedConditions.visibilityOfElementLocated(Locators.NEWSLETTER_EMAIL_INPUT));
         Object message = ((JavascriptExecutor) driver)
                 .executeScript("return arguments[0].validationMessage || ''", emailField);
         return String.valueOf(message).trim();
@@ -118,12 +116,11 @@ public class NewsletterComponent {
     }
 
     private boolean isElementVisible(By locator) {
-        List<WebElement> elements = driver.findElements(locator);
-        return !elements.isEmpty() && elements.get(0).isDisplayed();
+        return ElementPresence.isVisibleNow(driver, locator);
     }
 
     private void dismissCookieBannerIfPresent() {
-        List<WebElement> accepts = driver.findElements(COOKIE_ACCEPT);
+        List<WebElement> accepts = ElementPresence.findNow(driver, Locators.COOKIE_ACCEPT);
         if (!accepts.isEmpty()) {
             try {
                 WebElement accept = accepts.get(0);
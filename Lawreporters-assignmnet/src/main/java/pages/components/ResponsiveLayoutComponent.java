@@ -1,61 +1,102 @@
 package pages.components;
 
-import java.time.Duration;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.support.AdaptiveWait;
+import pages.support.DomSnapshot;
+import pages.support.ElementPresence;
+import pages.support.Locators;
+import pages.support.Readiness;
+import pages.support.WaitProfile;
+import pages.support.Waits;
+import utils.ConfigManager;
 
 public class ResponsiveLayoutComponent {
 
+    private static final boolean EMULATION_ENABLED =
+            Boolean.parseBoolean(ConfigManager.get("viewport.emulation.enabled", "true"));
+    private static final boolean RELOAD_AFTER_EMULATION =
+            Boolean.parseBoolean(ConfigManager.get("viewport.emulation.reload", "false"));
+
     private final WebDriver driver;
-    private final WebDriverWait wait;
-
-    private static final By LOGO = By.xpath(
-            "(//header//img[contains(translate(@alt,'LOGO','logo'),'logo')])[1]"
-                    + " | (//img[contains(translate(@alt,'LOGO','logo'),'logo')])[1]");
-    private static final By COOKIE_ACCEPT = By.xpath("//button[normalize-space()='Accept']");
-    private static final By MOBILE_MENU_TOGGLE = By.xpath(
-            "(//button[contains(@class,'menu')"
-                    + " or contains(@class,'toggle')"
-                    + " or contains(@class,'navbar-toggler')"
-                    + " or contains(translate(@aria-label,'MENU','menu'),'menu')"
-                    + " or contains(translate(@aria-expanded,'TRUEFALSE','truefalse'),'false')])[1]");
-    private static final By BREAKING_NEWS = By.xpath("//*[normalize-space()='Breaking News']");
-    private static final By NEWSLETTER_HEADING = By.xpath("//*[contains(normalize-space(),'Our Weekly Newsletter')]");
+    private final AdaptiveWait wait;
+    private boolean emulated;
+
+    private static final By MOBILE_MENU_TOGGLE = By.cssSelector(
+            "button[class*='menu'], button[class*='toggle'], button[class*='navbar-toggler'],"
+                    + " button[aria-label*='menu' i], button[aria-expanded*='false' i]");
+
+    private static final Readiness LAYOUT_READY = Readiness.visible("layout rendered", By.tagName("body"))
+            .and(Readiness.attached("logo attached", Locators.LOGO));
 
     private static final List<String> MAIN_MENU_ITEMS = Arrays.asList(
             "Home", "Sectors", "Find Lawyer", "Jobs", "Events", "Contact Us");
 
     public ResponsiveLayoutComponent(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = Waits.forProfile(driver, WaitProfile.ELEMENT);
     }
 
     public void applyViewport(int width, int height) {
-        driver.manage().window().setSize(new Dimension(width, height));
+        applyViewport(width, height, 1.0);
+    }
+
+    /**
+     * Chromium: overrides viewport size and device pixel ratio in place via DevTools, so media queries
+     * re-evaluate without a window resize. Other browsers fall back to resizing the OS window (DPR unchanged).
+     */
+    public void applyViewport(int width, int height, double deviceScaleFactor) {
+        emulated = EMULATION_ENABLED && driver instanceof HasCdp && emulateDeviceMetrics(width, height, deviceScaleFactor);
+        if (!emulated) {
+            driver.manage().window().setSize(new Dimension(width, height));
+        }
+    }
+
+    /**
+     * Makes the page reflect the current viewport: a reload after a window resize (or when
+     * viewport.emulation.reload=true), otherwise just the next rendered frame after the in-place override.
+     */
+    public void settleLayout() {
+        if (!emulated || RELOAD_AFTER_EMULATION) {
+            refreshAndWait();
+            return;
+        }
+        ((JavascriptExecutor) driver).executeAsyncScript(
+                "var done = arguments[arguments.length - 1];"
+                        + "requestAnimationFrame(function () { requestAnimationFrame(function () { done(); }); });");
+        dismissCookieBannerIfPresent();
     }
 
     public void refreshAndWait() {
         driver.navigate().refresh();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.tagName("body")));
-        wait.until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+        LAYOUT_READY.await(wait);
         dismissCookieBannerIfPresent();
     }
 
     public boolean isViewportApplied(int expectedWidth, int expectedHeight) {
+        if (emulated) {
+            Object matches = ((JavascriptExecutor) driver).executeScript(
+                    "return window.innerWidth === arguments[0] && window.innerHeight === arguments[1];",
+                    expectedWidth, expectedHeight);
+            return Boolean.TRUE.equals(matches);
+        }
         Dimension actual = driver.manage().window().getSize();
         return actual.getWidth() == expectedWidth && actual.getHeight() == expectedHeight;
     }
 
     public boolean isLogoVisible() {
-        return isVisible(LOGO);
+        return isVisible(Locators.LOGO);
     }
 
     public boolean isMobileMenuToggleVisible() {
@@ -63,12 +104,7 @@ public class ResponsiveLayoutComponent {
     }
 
     public boolean isAnyNavigationVisible() {
-        for (String menuItem : MAIN_MENU_ITEMS) {
-            if (isVisible(menuItemLocator(menuItem))) {
-                return true;
-            }
-        }
-        return false;
+        return DomSnapshot.capture(driver, mainMenuLocators()).anyVisible();
     }
 
     public boolean openMobileMenuIfAvailable() {
@@ -86,12 +122,7 @@ public class ResponsiveLayoutComponent {
     }
 
     public boolean areMainMenuItemsVisible() {
-        for (String item : MAIN_MENU_ITEMS) {
-            if (!isVisible(menuItemLocator(item))) {
-                return false;
-            }
-        }
-        return true;
+        return DomSnapshot.capture(driver, mainMenuLocators()).allVisible();
     }
 
     public boolean hasNoHorizontalOverflow() {
@@ -101,24 +132,26 @@ public class ResponsiveLayoutComponent {
     }
 
     public boolean isAnyCoreSectionVisible() {
-        return isVisible(BREAKING_NEWS) || isVisible(NEWSLETTER_HEADING);
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("breakingNews", Locators.BREAKING_NEWS);
+        locators.put("newsletter", Locators.NEWSLETTER_HEADING);
+        return DomSnapshot.capture(driver, locators).anyVisible();
     }
 
     private boolean isVisible(By locator) {
-        List<WebElement> elements = driver.findElements(locator);
-        return !elements.isEmpty() && elements.get(0).isDisplayed();
+        return ElementPresence.isVisibleNow(driver, locator);
     }
 
-    private By menuItemLocator(String label) {
-        String escaped = label.replace("'", "\\'");
-        return By.xpath(
-                "(//header//a[normalize-space()='" + escaped + "']"
-                        + " | //nav//a[normalize-space()='" + escaped + "']"
-                        + " | //a[normalize-space()='" + escaped + "'])[1]");
+    private Map<String, By> mainMenuLocators() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        for (String item : MAIN_MENU_ITEMS) {
+            locators.put(item, Locators.menuLink(item));
+        }
+        return locators;
     }
 
     private void dismissCookieBannerIfPresent() {
-        List<WebElement> accepts = driver.findElements(COOKIE_ACCEPT);
+        List<WebElement> accepts = ElementPresence.findNow(driver, Locators.COOKIE_ACCEPT);
         if (!accepts.isEmpty()) {
             try {
                 WebElement accept = accepts.get(0);
@@ -130,4 +163,18 @@ public class ResponsiveLayoutComponent {
             }
         }
     }
+
+    private boolean emulateDeviceMetrics(int width, int height, double deviceScaleFactor) {
+        try {
+            ((HasCdp) driver).executeCdpCommand("Emulation.setDeviceMetricsOverride", Map.of(
+                    "width", width,
+                    "height", height,
+                    "deviceScaleFactor", deviceScaleFactor,
+                    "mobile", false));
+            return true;
+        } catch (WebDriverException e) {
+            // Remote/Grid sessions may not expose CDP; resizing the window still works.
+            return false;
+        }
+    }
 }
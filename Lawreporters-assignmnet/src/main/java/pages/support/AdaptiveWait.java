@@ -0,0 +1,125 @@
+package pages.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+
+/**
+ * Drop-in replacement for {@code WebDriverWait} with adaptive polling: the first polls come quickly
+ * (most conditions are met within a frame or two) and the interval then backs off geometrically, so
+ * long waits do not hammer the driver. Timeouts come from a {@link WaitProfile}, are clamped to the
+ * current test's remaining wait budget, and every outcome is recorded in {@link Waits}.
+ * Instances are immutable; {@code with*}/{@code ignoring} return adjusted copies.
+ */
+public final class AdaptiveWait implements Wait<WebDriver> {
+
+    private final WebDriver driver;
+    private final WaitProfile profile;
+    private final Duration timeout;
+    private final List<Class<? extends Throwable>> ignored;
+    private final Supplier<String> message;
+
+    AdaptiveWait(WebDriver driver, WaitProfile profile, Duration timeout,
+                 List<Class<? extends Throwable>> ignored, Supplier<String> message) {
+        this.driver = driver;
+        this.profile = profile;
+        this.timeout = timeout;
+        this.ignored = List.copyOf(ignored);
+        this.message = message;
+    }
+
+    public AdaptiveWait withTimeout(Duration newTimeout) {
+        return new AdaptiveWait(driver, profile, newTimeout, ignored, message);
+    }
+
+    public AdaptiveWait withMessage(Supplier<String> newMessage) {
+        return new AdaptiveWait(driver, profile, timeout, ignored, newMessage);
+    }
+
+    public AdaptiveWait ignoring(Class<? extends Throwable> type) {
+        List<Class<? extends Throwable>> types = new ArrayList<>(ignored);
+        types.add(type);
+        return new AdaptiveWait(driver, profile, timeout, types, message);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Polls until the condition returns a non-null, non-false value.
+     *
+     * @throws TimeoutException when the (budget-clamped) timeout elapses first
+     */
+    @Override
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        String caller = Waits.caller();
+        Duration effective = Waits.clampToBudget(timeout);
+        long start = System.nanoTime();
+        long deadline = start + effective.toNanos();
+        long poll = Waits.initialPollNanos();
+        RuntimeException lastIgnored = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    Waits.record(profile, caller, System.nanoTime() - start, false);
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                if (!isIgnored(e)) {
+                    Waits.record(profile, caller, System.nanoTime() - start, false);
+                    throw e;
+                }
+                lastIgnored = e;
+            }
+
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                Waits.record(profile, caller, now - start, true);
+                throw timeout(condition, effective, lastIgnored);
+            }
+            sleep(Math.min(poll, deadline - now));
+            poll = Waits.nextPollNanos(poll);
+        }
+    }
+
+    private boolean isIgnored(Throwable e) {
+        for (Class<? extends Throwable> type : ignored) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TimeoutException timeout(Object condition, Duration effective, Throwable cause) {
+        String prefix = message == null ? "" : message.get() + ": ";
+        String budgetNote = effective.compareTo(timeout) < 0 ? ", clamped by the test wait budget" : "";
+        return new TimeoutException(String.format(
+                "%sExpected condition failed: waiting for %s (tried for %d ms, %s profile%s)",
+                prefix, condition, effective.toMillis(), profile.name().toLowerCase(), budgetNote), cause);
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    static List<Class<? extends Throwable>> defaultIgnored() {
+        // Same default as WebDriverWait: elements that are not there yet.
+        return List.of(NotFoundException.class);
+    }
+}
@@ -0,0 +1,135 @@
+package pages.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Resolves many locators in a single executeScript round trip and keeps the result in memory,
+ * so multi-element assertions do not pay one findElements + isDisplayed exchange per element.
+ */
+public final class DomSnapshot {
+
+    private static final String SNAPSHOT_SCRIPT =
+            "var queries = arguments[0], out = [];"
+                    + "function resolve(using, value) {"
+                    + "  if (using === 'xpath') {"
+                    + "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+                    + "  }"
+                    + "  if (using === 'tag name') { return document.getElementsByTagName(value)[0] || null; }"
+                    + "  if (using === 'link text' || using === 'partial link text') {"
+                    + "    var links = document.getElementsByTagName('a');"
+                    + "    for (var i = 0; i < links.length; i++) {"
+                    + "      var t = (links[i].innerText || '').trim();"
+                    + "      if (using === 'link text' ? t === value : t.indexOf(value) >= 0) { return links[i]; }"
+                    + "    }"
+                    + "    return null;"
+                    + "  }"
+                    + "  return document.querySelector(value);"
+                    + "}"
+                    + "for (var q = 0; q < queries.length; q++) {"
+                    + "  var el = null;"
+                    + "  try { el = resolve(queries[q][1], queries[q][2]); } catch (e) { el = null; }"
+                    + "  if (!el) { out.push([false, false, 0, 0, 0, 0, '', false]); continue; }"
+                    + "  var r = el.getBoundingClientRect(), s = window.getComputedStyle(el);"
+                    + "  var visible = el.getClientRects().length > 0 && r.width > 0 && r.height > 0"
+                    + "      && s.visibility !== 'hidden' && s.visibility !== 'collapse' && parseFloat(s.opacity) > 0;"
+                    + "  out.push([true, visible, Math.round(r.left), Math.round(r.top), Math.round(r.width), Math.round(r.height),"
+                    + "      (el.innerText || el.value || '').trim().substring(0, 200),"
+                    + "      !el.disabled && !el.readOnly && !el.closest('fieldset[disabled]')]);"
+                    + "}"
+                    + "return out;";
+
+    private final Map<String, ElementState> states;
+
+    private DomSnapshot(Map<String, ElementState> states) {
+        this.states = Collections.unmodifiableMap(states);
+    }
+
+    /**
+     * Captures the state of every locator (keyed by a caller-chosen name) in one round trip.
+     * Supports xpath, css, id, name, class name, tag name and link text locators.
+     */
+    public static DomSnapshot capture(WebDriver driver, Map<String, By> locators) {
+        List<List<String>> queries = new ArrayList<>();
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            By.Remotable.Parameters parameters = ((By.Remotable) entry.getValue()).getRemoteParameters();
+            queries.add(List.of(entry.getKey(), parameters.using(), String.valueOf(parameters.value())));
+        }
+
+        Object raw = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, queries);
+        List<?> rows = raw instanceof List ? (List<?>) raw : List.of();
+
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        int index = 0;
+        for (String key : locators.keySet()) {
+            List<?> row = index < rows.size() ? (List<?>) rows.get(index) : List.of(false, false, 0, 0, 0, 0, "", false);
+            index++;
+            states.put(key, new ElementState(key,
+                    Boolean.TRUE.equals(row.get(0)),
+                    Boolean.TRUE.equals(row.get(1)),
+                    new Rectangle(toInt(row.get(2)), toInt(row.get(3)), toInt(row.get(5)), toInt(row.get(4))),
+                    String.valueOf(row.get(6)),
+                    row.size() > 7 && Boolean.TRUE.equals(row.get(7))));
+        }
+        return new DomSnapshot(states);
+    }
+
+    /**
+     * Re-captures (one round trip per poll) until every locator is visible or the timeout elapses,
+     * and returns the last snapshot either way.
+     */
+    public static DomSnapshot awaitAllVisible(WebDriver driver, Map<String, By> locators, AdaptiveWait wait) {
+        DomSnapshot[] last = {capture(driver, locators)};
+        if (last[0].allVisible()) {
+            return last[0];
+        }
+        try {
+            wait.until(d -> {
+                last[0] = capture(d, locators);
+                return last[0].allVisible();
+            });
+        } catch (TimeoutException ignored) {
+            // Caller inspects which entries are still missing.
+        }
+        return last[0];
+    }
+
+    public ElementState get(String key) {
+        return states.get(key);
+    }
+
+    public boolean isVisible(String key) {
+        ElementState state = states.get(key);
+        return state != null && state.isVisible();
+    }
+
+    public boolean allVisible() {
+        return states.values().stream().allMatch(ElementState::isVisible);
+    }
+
+    public boolean anyVisible() {
+        return states.values().stream().anyMatch(ElementState::isVisible);
+    }
+
+    public List<String> keysNotVisible() {
+        List<String> missing = new ArrayList<>();
+        states.forEach((key, state) -> {
+            if (!state.isVisible()) {
+                missing.add(key);
+            }
+        });
+        return missing;
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
@@ -0,0 +1,68 @@
+package pages.support;
+
+import base.DriverFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+/**
+ * Presence/visibility probes that never pay the global implicit wait. "Now" probes answer
+ * immediately; "within" probes wait only as long as the caller asks.
+ */
+public final class ElementPresence {
+
+    private ElementPresence() {
+    }
+
+    public static List<WebElement> findNow(WebDriver driver, By locator) {
+        return withoutImplicitWait(driver, () -> driver.findElements(locator));
+    }
+
+    public static boolean isPresentNow(WebDriver driver, By locator) {
+        return !findNow(driver, locator).isEmpty();
+    }
+
+    public static boolean isVisibleNow(WebDriver driver, By locator) {
+        List<WebElement> elements = findNow(driver, locator);
+        try {
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        } catch (StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    public static boolean isVisibleWithin(WebDriver driver, By locator, Duration timeout) {
+        return withoutImplicitWait(driver, () -> {
+            try {
+                return Waits.forProfile(driver, WaitProfile.ELEMENT).withTimeout(timeout)
+                        .until(ExpectedConditions.visibilityOfElementLocated(locator))
+                        .isDisplayed();
+            } catch (TimeoutException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Runs the probe with implicit wait switched off, restoring the configured value afterwards.
+     * When implicit waits are disabled globally this costs no extra WebDriver round trips.
+     */
+    public static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> probe) {
+        Duration implicitWait = DriverFactory.implicitWait();
+        if (implicitWait.isZero()) {
+            return probe.get();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return probe.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package pages.support;
+
+import org.openqa.selenium.Rectangle;
+
+/**
+ * State of one locator inside a {@link DomSnapshot}: presence, computed visibility, bounding box and text.
+ */
+public final class ElementState {
+
+    private final String key;
+    private final boolean present;
+    private final boolean visible;
+    private final Rectangle bounds;
+    private final String text;
+    private final boolean enabled;
+
+    ElementState(String key, boolean present, boolean visible, Rectangle bounds, String text, boolean enabled) {
+        this.key = key;
+        this.present = present;
+        this.visible = visible;
+        this.bounds = bounds;
+        this.text = text;
+        this.enabled = enabled;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Not disabled (directly or through a disabled fieldset) and not read-only.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return key + "[present=" + present + ", visible=" + visible + ", enabled=" + enabled + ", text='" + text + "']";
+    }
+}
@@ -0,0 +1,59 @@
+package pages.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.By;
+
+/**
+ * Central registry of logical locators shared by page objects. Each locator is built once:
+ * static ones at class load, label-based ones on first use (then cached per label).
+ *
+ * <p>CSS with the case-insensitive attribute flag replaces translate()-based case folding, and
+ * {@code (//header//x | //nav//x | //x)[1]} unions are reduced to {@code (//x)[1]}: the last branch is a
+ * superset of the others, so the first match in document order is identical.</p>
+ */
+public final class Locators {
+
+    public static final By LOGO = By.cssSelector("img[alt*='logo' i]");
+    public static final By COOKIE_ACCEPT = By.xpath("//button[normalize-space()='Accept']");
+    public static final By BREAKING_NEWS = By.xpath("//*[normalize-space()='Breaking News']");
+    public static final By NEWSLETTER_HEADING = By.xpath("//*[contains(normalize-space(),'Our Weekly Newsletter')]");
+    public static final By NEWSLETTER_EMAIL_INPUT = By.cssSelector(
+            "input[type='email'], input[name*='email' i], input[placeholder*='email' i]");
+    public static final By NEWSLETTER_SUBSCRIBE_BUTTON = By.xpath(
+            "(//button[contains(normalize-space(),'Subscribe')]"
+                    + " | //input[@type='submit' and contains(@value,'Subscribe')]"
+                    + " | //a[contains(normalize-space(),'Subscribe')])[1]");
+
+    private static final Map<String, By> MENU_LINKS = new ConcurrentHashMap<>();
+    private static final Map<String, By> EXACT_TEXT = new ConcurrentHashMap<>();
+
+    private Locators() {
+    }
+
+    /**
+     * First link whose normalized text equals the label (header/nav links come first in document order).
+     */
+    public static By menuLink(String label) {
+        return MENU_LINKS.computeIfAbsent(label,
+                key -> By.xpath("(//a[normalize-space()=" + xpathLiteral(key) + "])[1]"));
+    }
+
+    /**
+     * First element of any type whose normalized text equals the given text.
+     */
+    public static By exactText(String text) {
+        return EXACT_TEXT.computeIfAbsent(text,
+                key -> By.xpath("(//*[normalize-space()=" + xpathLiteral(key) + "])[1]"));
+    }
+
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "',\"'\",'") + "')";
+    }
+}
@@ -0,0 +1,463 @@
+package pages.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import utils.ConfigManager;
+import utils.LatencyHistogram;
+
+/**
+ * Web-performance metrics of the pages the tests open: Navigation Timing (TTFB, DOMContentLoaded, load),
+ * First Contentful Paint, Largest Contentful Paint, Cumulative Layout Shift and long tasks / Total Blocking
+ * Time, read with buffered {@code PerformanceObserver}s once a page object's readiness condition is met.
+ * Each capture is checked against the per-page budgets in config ({@code perf.budget.<page>.<metric>},
+ * falling back to {@code perf.budget.default.<metric>}) and kept per test, like {@link Waits} statistics.
+ */
+public final class PageMetrics {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(ConfigManager.get("perf.metrics.enabled", "true"));
+    private static final long QUIET_MS = Long.parseLong(ConfigManager.get("perf.metrics.quiet.ms", "1000"));
+    private static final long MAX_WAIT_MS =
+            TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigManager.get("perf.metrics.max.wait.seconds", "10")));
+    private static final int CAPTURE_ATTEMPTS = 2;
+    private static final long BLOCKING_THRESHOLD_MS = 50;
+
+    // Long tasks are not reliably buffered, so Chromium sessions record them from the start of each document.
+    private static final String LONG_TASK_RECORDER =
+            "(function () {"
+                    + "  if (window.__pageMetricsLongTasks || !window.PerformanceObserver) { return; }"
+                    + "  try {"
+                    + "    var tasks = [];"
+                    + "    var observer = new PerformanceObserver(function (list) {"
+                    + "      list.getEntries().forEach(function (e) { tasks.push([e.startTime, e.duration]); });"
+                    + "    });"
+                    + "    observer.observe({type: 'longtask'});"
+                    + "    window.__pageMetricsLongTasks = tasks;"
+                    + "    window.__pageMetricsLongTaskObserver = observer;"
+                    + "  } catch (e) { }"
+                    + "})();";
+
+    // Waits for the load event and then for LCP to stay unchanged for the quiet period (bounded by the maximum
+    // wait), so eager page loads and readiness checks that return early still measure the finished page.
+    private static final String COLLECT_SCRIPT =
+            "var quiet = arguments[0], maxWait = arguments[1], threshold = arguments[2];"
+                    + "var done = arguments[arguments.length - 1];"
+                    + "var started = performance.now(), finished = false;"
+                    + "var supported = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];"
+                    + "var entries = {}, observers = [];"
+                    + "['largest-contentful-paint', 'layout-shift', 'longtask'].forEach(function (type) {"
+                    + "  if (supported.indexOf(type) < 0) { return; }"
+                    + "  try {"
+                    + "    var observer = new PerformanceObserver(function (list) {"
+                    + "      entries[type] = entries[type].concat(list.getEntries());"
+                    + "    });"
+                    + "    entries[type] = [];"
+                    + "    observer.observe({type: type, buffered: true});"
+                    + "    observers.push([type, observer]);"
+                    + "  } catch (e) { delete entries[type]; }"
+                    + "});"
+                    + "function drain() {"
+                    + "  observers.forEach(function (o) { entries[o[0]] = entries[o[0]].concat(o[1].takeRecords()); });"
+                    + "}"
+                    + "function navigation() { return performance.getEntriesByType('navigation')[0]; }"
+                    + "function loaded() {"
+                    + "  var nav = navigation();"
+                    + "  return document.readyState === 'complete' && (!nav || nav.loadEventEnd > 0);"
+                    + "}"
+                    + "function lastPaint() {"
+                    + "  var lcp = entries['largest-contentful-paint'];"
+                    + "  return lcp && lcp.length ? lcp[lcp.length - 1].startTime : 0;"
+                    + "}"
+                    + "function finish(settled) {"
+                    + "  if (finished) { return; }"
+                    + "  finished = true;"
+                    + "  drain();"
+                    + "  observers.forEach(function (o) { o[1].disconnect(); });"
+                    + "  var out = {url: location.href, settled: settled};"
+                    + "  var nav = navigation();"
+                    + "  if (nav) {"
+                    + "    out.ttfb = nav.responseStart;"
+                    + "    if (nav.domContentLoadedEventEnd > 0) { out.dcl = nav.domContentLoadedEventEnd; }"
+                    + "    if (nav.loadEventEnd > 0) { out.load = nav.loadEventEnd; }"
+                    + "  }"
+                    + "  var paints = performance.getEntriesByName('first-contentful-paint');"
+                    + "  if (paints.length) { out.fcp = paints[0].startTime; }"
+                    + "  var lcp = entries['largest-contentful-paint'];"
+                    + "  if (lcp && lcp.length) { out.lcp = lcp[lcp.length - 1].startTime; }"
+                    + "  var shifts = entries['layout-shift'];"
+                    + "  if (shifts) {"
+                    + "    var cls = 0, sum = 0, first = 0, last = 0;"
+                    + "    shifts.forEach(function (e) {"
+                    + "      if (e.hadRecentInput) { return; }"
+                    + "      if (sum > 0 && e.startTime - last < 1000 && e.startTime - first < 5000) {"
+                    + "        sum += e.value;"
+                    + "      } else {"
+                    + "        sum = e.value;"
+                    + "        first = e.startTime;"
+                    + "      }"
+                    + "      last = e.startTime;"
+                    + "      cls = Math.max(cls, sum);"
+                    + "    });"
+                    + "    out.cls = cls;"
+                    + "  }"
+                    + "  var tasks = null;"
+                    + "  if (window.__pageMetricsLongTasks) {"
+                    + "    window.__pageMetricsLongTaskObserver.takeRecords().forEach(function (e) {"
+                    + "      window.__pageMetricsLongTasks.push([e.startTime, e.duration]);"
+                    + "    });"
+                    + "    tasks = window.__pageMetricsLongTasks;"
+                    + "  } else if (entries['longtask']) {"
+                    + "    tasks = entries['longtask'].map(function (e) { return [e.startTime, e.duration]; });"
+                    + "  }"
+                    + "  if (tasks) {"
+                    + "    var from = out.fcp || 0, tbt = 0;"
+                    + "    tasks.forEach(function (t) {"
+                    + "      if (t[0] >= from) { tbt += Math.max(0, t[1] - threshold); }"
+                    + "    });"
+                    + "    out.tbt = tbt;"
+                    + "    out.longTasks = tasks.length;"
+                    + "  }"
+                    + "  done(out);"
+                    + "}"
+                    + "function poll() {"
+                    + "  if (finished) { return; }"
+                    + "  drain();"
+                    + "  var now = performance.now();"
+                    + "  if (loaded() && now - lastPaint() >= quiet) { finish(true); return; }"
+                    + "  if (now - started >= maxWait) { finish(false); return; }"
+                    + "  setTimeout(poll, 50);"
+                    + "}"
+                    + "setTimeout(poll, 50);";
+
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> RESOURCES_BLOCKED = new ThreadLocal<>();
+    // Latest capture of each page per test; a page captured again in the same test replaces the earlier one.
+    private static final Map<String, Map<String, Sample>> BY_TEST = new ConcurrentHashMap<>();
+    private static final Map<String, Map<Metric, Double>> BUDGETS = new ConcurrentHashMap<>();
+    private static final Set<WebDriver> RECORDING = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private PageMetrics() {
+    }
+
+    /**
+     * Web-performance metric, with the config suffix of its budget ({@code perf.budget.home.lcp.ms}).
+     */
+    public enum Metric {
+        TTFB("TTFB", "ttfb", "ttfb.ms"),
+        DOM_CONTENT_LOADED("DOMContentLoaded", "dcl", "dcl.ms"),
+        LOAD("Load", "load", "load.ms"),
+        FCP("FCP", "fcp", "fcp.ms"),
+        LCP("LCP", "lcp", "lcp.ms"),
+        CLS("CLS", "cls", "cls"),
+        TBT("TBT", "tbt", "tbt.ms"),
+        LONG_TASKS("Long tasks", "longTasks", "long.tasks");
+
+        private final String label;
+        private final String scriptKey;
+        private final String budgetKey;
+
+        Metric(String label, String scriptKey, String budgetKey) {
+            this.label = label;
+            this.scriptKey = scriptKey;
+            this.budgetKey = budgetKey;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public String budgetKey() {
+            return budgetKey;
+        }
+
+        public String format(double value) {
+            if (this == CLS) {
+                return String.format(Locale.ROOT, "%.3f", value);
+            }
+            if (this == LONG_TASKS) {
+                return String.format(Locale.ROOT, "%.0f", value);
+            }
+            return String.format(Locale.ROOT, "%.0f ms", value);
+        }
+    }
+
+    /**
+     * Tags captures on the current thread with the given test until {@link #endTest()}, and on Chromium
+     * starts recording long tasks from the beginning of every document the session loads. Whether the test
+     * blocks third-party and heavy resources is kept with each sample: those pages load less than users get.
+     */
+    public static void startTest(WebDriver driver, String testKey, boolean resourcesBlocked) {
+        CURRENT_TEST.set(testKey);
+        RESOURCES_BLOCKED.set(resourcesBlocked);
+        BY_TEST.put(testKey, Collections.synchronizedMap(new LinkedHashMap<>()));
+        if (ENABLED) {
+            installLongTaskRecorder(driver);
+        }
+    }
+
+    public static void endTest() {
+        CURRENT_TEST.remove();
+        RESOURCES_BLOCKED.remove();
+    }
+
+    /**
+     * Reads the metrics of the document currently loaded, under the given page name, and records them for
+     * the current test. Waits for the load event and an LCP quiet period ({@code perf.metrics.quiet.ms}), at
+     * most {@code perf.metrics.max.wait.seconds}; a capture cut off by that limit is marked as not settled.
+     * Returns null when capture is disabled or the browser could not report them; metrics a browser does not
+     * support (CLS and long tasks outside Chromium) are simply absent.
+     */
+    public static Sample capture(WebDriver driver, String page) {
+        if (!ENABLED) {
+            return null;
+        }
+        Object raw = null;
+        for (int attempt = 1; raw == null && attempt <= CAPTURE_ATTEMPTS; attempt++) {
+            try {
+                raw = ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT,
+                        QUIET_MS, MAX_WAIT_MS, BLOCKING_THRESHOLD_MS);
+            } catch (ScriptTimeoutException e) {
+                return null;
+            } catch (WebDriverException e) {
+                // A navigation still committing when the capture started discards the script with the old
+                // document; the new one is read once more. Metrics must never fail the test itself.
+                if (attempt == CAPTURE_ATTEMPTS) {
+                    return null;
+                }
+            }
+        }
+        if (!(raw instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> values = (Map<?, ?>) raw;
+        Map<Metric, Double> metrics = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            Object value = values.get(metric.scriptKey);
+            if (value instanceof Number) {
+                metrics.put(metric, ((Number) value).doubleValue());
+            }
+        }
+        String test = CURRENT_TEST.get();
+        Sample sample = new Sample(page, String.valueOf(values.get("url")), test, metrics,
+                Boolean.TRUE.equals(values.get("settled")), Boolean.TRUE.equals(RESOURCES_BLOCKED.get()));
+        if (test != null) {
+            Map<String, Sample> pages = BY_TEST.get(test);
+            if (pages != null) {
+                pages.put(page, sample);
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * Page name for a site path: {@code /} is "home", {@code /jobs} is "jobs", {@code /a/b} is "a-b".
+     */
+    public static String pageName(String path) {
+        String trimmed = path == null ? "" : path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? "home" : trimmed.replace('/', '-').toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Pages captured by the test, in capture order.
+     */
+    public static List<Sample> forTest(String testKey) {
+        Map<String, Sample> pages = BY_TEST.get(testKey);
+        if (pages == null) {
+            return List.of();
+        }
+        synchronized (pages) {
+            return new ArrayList<>(pages.values());
+        }
+    }
+
+    /**
+     * Budget breaches of every page the test captured; empty when all were within budget.
+     */
+    public static List<String> budgetViolations(String testKey) {
+        List<String> violations = new ArrayList<>();
+        for (Sample sample : forTest(testKey)) {
+            violations.addAll(sample.getViolations());
+        }
+        return violations;
+    }
+
+    /**
+     * Budget of a metric for a page, or null when neither the page nor the default sets one.
+     */
+    public static Double budget(String page, Metric metric) {
+        return BUDGETS.computeIfAbsent(page, PageMetrics::loadBudgets).get(metric);
+    }
+
+    /**
+     * Plain-text table of each metric per page over all tests (p50/p95/max next to the budget), followed by
+     * every budget breach with the test that saw it.
+     */
+    public static String report() {
+        String nl = System.lineSeparator();
+        Map<String, Map<Metric, LatencyHistogram>> byPage = new TreeMap<>();
+        List<String> breaches = new ArrayList<>();
+        int[] captures = new int[3];
+        new TreeMap<>(BY_TEST).forEach((test, pages) -> {
+            for (Sample sample : forTest(test)) {
+                Map<Metric, LatencyHistogram> histograms =
+                        byPage.computeIfAbsent(sample.getPage(), key -> new EnumMap<>(Metric.class));
+                // Thousandths keep CLS and sub-millisecond timings meaningful in the integer histogram.
+                sample.metrics.forEach((metric, value) -> histograms
+                        .computeIfAbsent(metric, key -> new LatencyHistogram()).record(Math.round(value * 1000)));
+                sample.getViolations().forEach(violation -> breaches.add(violation + "  test=" + test));
+                captures[0]++;
+                captures[1] += sample.isResourcesBlocked() ? 1 : 0;
+                captures[2] += sample.isSettled() ? 0 : 1;
+            }
+        });
+
+        StringBuilder out = new StringBuilder();
+        out.append("Web performance per page (")
+                .append(ENABLED ? "captured after the load event and a " + QUIET_MS + " ms LCP quiet period"
+                        : "perf.metrics.enabled=false")
+                .append(')').append(nl);
+        out.append(String.format(Locale.ROOT,
+                "Captures: %d, with third-party/heavy resources blocked: %d, not settled within %d s: %d",
+                captures[0], captures[1], TimeUnit.MILLISECONDS.toSeconds(MAX_WAIT_MS), captures[2]))
+                .append(nl).append(nl);
+        out.append(String.format(Locale.ROOT, "%-20s %-16s %7s %10s %10s %10s %10s",
+                "page", "metric", "samples", "p50", "p95", "max", "budget")).append(nl);
+        byPage.forEach((page, histograms) -> histograms.forEach((metric, histogram) -> {
+            Double budget = budget(page, metric);
+            out.append(String.format(Locale.ROOT, "%-20s %-16s %7d %10s %10s %10s %10s",
+                    page, metric.label(), histogram.getCount(),
+                    metric.format(histogram.valueAtPercentile(50) / 1000.0),
+                    metric.format(histogram.valueAtPercentile(95) / 1000.0),
+                    metric.format(histogram.getMax() / 1000.0),
+                    budget == null ? "-" : metric.format(budget))).append(nl);
+        }));
+        out.append(nl).append("Budget violations: ").append(breaches.size()).append(nl);
+        breaches.forEach(breach -> out.append("  ").append(breach).append(nl));
+        return out.toString();
+    }
+
+    private static Map<Metric, Double> loadBudgets(String page) {
+        Map<Metric, Double> budgets = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            String value = ConfigManager.get("perf.budget." + page + "." + metric.budgetKey(),
+                    ConfigManager.get("perf.budget.default." + metric.budgetKey(), "")).trim();
+            if (!value.isEmpty()) {
+                budgets.put(metric, Double.parseDouble(value));
+            }
+        }
+        return budgets;
+    }
+
+    private static void installLongTaskRecorder(WebDriver driver) {
+        WebDriver target = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        if (!(target instanceof HasCdp) || !RECORDING.add(target)) {
+            // Firefox/Safari: long tasks come from the buffered observer where supported.
+            return;
+        }
+        try {
+            ((HasCdp) target).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", LONG_TASK_RECORDER));
+        } catch (WebDriverException e) {
+            RECORDING.remove(target);
+        }
+    }
+
+    /**
+     * Metrics of one page load, with the budgets it broke.
+     */
+    public static final class Sample {
+
+        private final String page;
+        private final String url;
+        private final String test;
+        private final Map<Metric, Double> metrics;
+        private final List<String> violations;
+        private final boolean settled;
+        private final boolean resourcesBlocked;
+
+        private Sample(String page, String url, String test, Map<Metric, Double> metrics,
+                       boolean settled, boolean resourcesBlocked) {
+            this.page = page;
+            this.url = url;
+            this.test = test;
+            this.metrics = Collections.unmodifiableMap(metrics);
+            this.settled = settled;
+            this.resourcesBlocked = resourcesBlocked;
+            List<String> broken = new ArrayList<>();
+            metrics.forEach((metric, value) -> {
+                Double budget = budget(page, metric);
+                if (budget != null && value > budget) {
+                    broken.add(String.format(Locale.ROOT, "%s %s %s exceeds budget %s",
+                            page, metric.label(), metric.format(value), metric.format(budget)));
+                }
+            });
+            this.violations = Collections.unmodifiableList(broken);
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        /**
+         * Measured value (milliseconds, layout-shift score or count), or null when the browser does not report it.
+         */
+        public Double get(Metric metric) {
+            return metrics.get(metric);
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+
+        /**
+         * False when the page had not finished loading, or LCP was still changing, at the maximum wait.
+         */
+        public boolean isSettled() {
+            return settled;
+        }
+
+        /**
+         * True when the test blocked third-party and heavy resources, so the page loaded less than users get.
+         */
+        public boolean isResourcesBlocked() {
+            return resourcesBlocked;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(page).append(':');
+            metrics.forEach((metric, value) -> out.append(' ').append(metric.label()).append('=').append(metric.format(value)));
+            if (resourcesBlocked) {
+                out.append(" [resources blocked]");
+            }
+            if (!settled) {
+                out.append(" [not settled]");
+            }
+            return out.toString();
+        }
+    }
+}
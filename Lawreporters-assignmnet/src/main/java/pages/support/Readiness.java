@@ -0,0 +1,153 @@
+package pages.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * What a page object needs before it can be used (e.g. "newsletter form attached", "contact form
+ * interactive"), evaluated by one shared engine: each poll is a single {@link DomSnapshot} round trip.
+ * Under the eager/none page-load strategies this replaces waiting for {@code document.readyState == complete},
+ * so tests start as soon as their elements exist instead of after every subresource.
+ */
+public final class Readiness {
+
+    private enum Level {
+        ATTACHED, VISIBLE, INTERACTIVE
+    }
+
+    private final String name;
+    private final Map<String, By> locators;
+    private final Map<String, Level> levels;
+    private final String urlFragment;
+
+    private Readiness(String name, Map<String, By> locators, Map<String, Level> levels, String urlFragment) {
+        this.name = name;
+        this.locators = Collections.unmodifiableMap(locators);
+        this.levels = Collections.unmodifiableMap(levels);
+        this.urlFragment = urlFragment;
+    }
+
+    /**
+     * Ready once every locator is in the DOM.
+     */
+    public static Readiness attached(String name, By... locators) {
+        return of(name, Level.ATTACHED, locators);
+    }
+
+    /**
+     * Ready once every locator is rendered with a non-empty box.
+     */
+    public static Readiness visible(String name, By... locators) {
+        return of(name, Level.VISIBLE, locators);
+    }
+
+    /**
+     * Ready once every locator is visible and neither disabled nor read-only.
+     */
+    public static Readiness interactive(String name, By... locators) {
+        return of(name, Level.INTERACTIVE, locators);
+    }
+
+    /**
+     * Same requirements plus the other condition's (evaluated in the same round trip).
+     */
+    public Readiness and(Readiness other) {
+        Map<String, By> combinedLocators = new LinkedHashMap<>(locators);
+        Map<String, Level> combinedLevels = new LinkedHashMap<>(levels);
+        other.locators.forEach((key, locator) -> {
+            String combinedKey = combinedLocators.containsKey(key) ? other.name + ":" + key : key;
+            combinedLocators.put(combinedKey, locator);
+            combinedLevels.put(combinedKey, other.levels.get(key));
+        });
+        return new Readiness(name + " and " + other.name, combinedLocators, combinedLevels,
+                urlFragment != null ? urlFragment : other.urlFragment);
+    }
+
+    /**
+     * Also requires the current URL to contain the fragment. With page.load.strategy=none the previous
+     * document can still be showing right after navigation, and its elements must not count.
+     */
+    public Readiness onUrlContaining(String fragment) {
+        return new Readiness(name, new LinkedHashMap<>(locators), new LinkedHashMap<>(levels), fragment);
+    }
+
+    public boolean isReady(WebDriver driver) {
+        if (urlFragment != null && !String.valueOf(driver.getCurrentUrl()).contains(urlFragment)) {
+            return false;
+        }
+        return notReady(DomSnapshot.capture(driver, locators)).isEmpty();
+    }
+
+    public void await(WebDriver driver) {
+        await(Waits.forProfile(driver, WaitProfile.READY));
+    }
+
+    /**
+     * Polls with the caller's wait (its profile, timeout and the test budget); the timeout message
+     * names the requirements still unmet.
+     *
+     * @throws org.openqa.selenium.TimeoutException when not ready in time
+     */
+    public void await(AdaptiveWait wait) {
+        List<String> pending = new ArrayList<>(locators.keySet());
+        wait
+                // A navigation in flight can tear down the script context mid-poll.
+                .ignoring(JavascriptException.class)
+                .withMessage(() -> "'" + name + "' not ready; waiting on " + pending)
+                .until(d -> {
+                    pending.clear();
+                    if (urlFragment != null && !String.valueOf(d.getCurrentUrl()).contains(urlFragment)) {
+                        pending.add("url containing " + urlFragment);
+                        return false;
+                    }
+                    pending.addAll(notReady(DomSnapshot.capture(d, locators)));
+                    return pending.isEmpty();
+                });
+    }
+
+    private List<String> notReady(DomSnapshot snapshot) {
+        List<String> missing = new ArrayList<>();
+        levels.forEach((key, level) -> {
+            ElementState state = snapshot.get(key);
+            boolean met;
+            switch (level) {
+                case ATTACHED:
+                    met = state.isPresent();
+                    break;
+                case VISIBLE:
+                    met = state.isVisible();
+                    break;
+                case INTERACTIVE:
+                default:
+                    met = state.isVisible() && state.isEnabled();
+                    break;
+            }
+            if (!met) {
+                missing.add(key + " " + level.name().toLowerCase());
+            }
+        });
+        return missing;
+    }
+
+    private static Readiness of(String name, Level level, By... locators) {
+        Map<String, By> byKey = new LinkedHashMap<>();
+        Map<String, Level> levels = new LinkedHashMap<>();
+        for (By locator : locators) {
+            String key = locator.toString();
+            byKey.put(key, locator);
+            levels.put(key, level);
+        }
+        return new Readiness(name, byKey, levels, null);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,40 @@
+package pages.support;
+
+import java.time.Duration;
+import utils.ConfigManager;
+
+/**
+ * Timeout classes for {@link AdaptiveWait}; each reads its timeout from config.properties and is scaled
+ * by {@code wait.timeout.multiplier} (e.g. 1.5 on slow CI agents).
+ */
+public enum WaitProfile {
+
+    /** Whole-page state: home page, logo, breaking news, menu items. */
+    PAGE("wait.page.timeout.seconds", 20),
+    /** Single components: navigation, contact form, responsive layout. */
+    ELEMENT("wait.element.timeout.seconds", 15),
+    /** Newsletter form fields and feedback. */
+    FORM("wait.form.timeout.seconds", 12),
+    /** Cookie banner, which is either there almost at once or not coming. */
+    BANNER("wait.banner.timeout.seconds", 10),
+    /** {@link Readiness} conditions awaited without a component wait. */
+    READY("page.ready.timeout.seconds", 15);
+
+    private final String key;
+    private final long defaultSeconds;
+
+    WaitProfile(String key, long defaultSeconds) {
+        this.key = key;
+        this.defaultSeconds = defaultSeconds;
+    }
+
+    public Duration timeout() {
+        double multiplier = Double.parseDouble(ConfigManager.get("wait.timeout.multiplier", "1.0"));
+        long seconds = Long.parseLong(ConfigManager.get(key, String.valueOf(defaultSeconds)));
+        return Duration.ofMillis(Math.round(seconds * 1000 * multiplier));
+    }
+
+    public String configKey() {
+        return key;
+    }
+}
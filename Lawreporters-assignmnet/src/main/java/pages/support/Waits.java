@@ -0,0 +1,143 @@
+package pages.support;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.WebDriver;
+import utils.ConfigManager;
+import utils.LatencyHistogram;
+
+/**
+ * Entry point and bookkeeping for {@link AdaptiveWait}: polling schedule, the per-test wait budget and
+ * how long each wait really took, keyed by profile and calling page-object method.
+ */
+public final class Waits {
+
+    private static final long INITIAL_POLL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.parseLong(ConfigManager.get("wait.poll.initial.ms", "25")));
+    private static final long MAX_POLL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.parseLong(ConfigManager.get("wait.poll.max.ms", "500")));
+    private static final double POLL_BACKOFF = Double.parseDouble(ConfigManager.get("wait.poll.backoff", "2.0"));
+    private static final long TEST_BUDGET_NANOS =
+            TimeUnit.SECONDS.toNanos(Long.parseLong(ConfigManager.get("wait.test.budget.seconds", "120")));
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // Remaining budget of the test running on this thread; absent outside BaseTest-managed tests.
+    private static final ThreadLocal<long[]> BUDGET = new ThreadLocal<>();
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private Waits() {
+    }
+
+    public static AdaptiveWait forProfile(WebDriver driver, WaitProfile profile) {
+        return new AdaptiveWait(driver, profile, profile.timeout(), AdaptiveWait.defaultIgnored(), null);
+    }
+
+    /**
+     * Starts the current thread's wait budget (wait.test.budget.seconds; 0 disables it). Once spent,
+     * every further wait in the test gets a single evaluation, so a broken page fails in one timeout
+     * rather than in one timeout per remaining step.
+     */
+    public static void startTest() {
+        if (TEST_BUDGET_NANOS > 0) {
+            BUDGET.set(new long[] {TEST_BUDGET_NANOS});
+        }
+    }
+
+    public static void endTest() {
+        BUDGET.remove();
+    }
+
+    static Duration clampToBudget(Duration timeout) {
+        long[] budget = BUDGET.get();
+        if (budget == null) {
+            return timeout;
+        }
+        return Duration.ofNanos(Math.max(0, Math.min(timeout.toNanos(), budget[0])));
+    }
+
+    static long initialPollNanos() {
+        return INITIAL_POLL_NANOS;
+    }
+
+    static long nextPollNanos(long current) {
+        return Math.min(MAX_POLL_NANOS, Math.max(current + 1, (long) (current * POLL_BACKOFF)));
+    }
+
+    static void record(WaitProfile profile, String caller, long nanos, boolean timedOut) {
+        long[] budget = BUDGET.get();
+        if (budget != null) {
+            budget[0] -= nanos;
+        }
+        STATS.computeIfAbsent(profile.name() + " " + caller, key -> new Stats(profile)).record(nanos, timedOut);
+    }
+
+    /**
+     * Page object method that started the wait, e.g. {@code Homepage.isLogoDisplayed}.
+     */
+    static String caller() {
+        return WALKER.walk(frames -> frames
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName())
+                .filter(name -> !name.startsWith("pages.support.") && !name.startsWith("java."))
+                .findFirst()
+                .map(name -> name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1))
+                .orElse("unknown"));
+    }
+
+    /**
+     * Plain-text table of real wait durations per profile and caller, next to the configured timeout and
+     * a suggested one (twice the observed p99, at least one second) to tune the budgets from data.
+     */
+    public static String report() {
+        String nl = System.lineSeparator();
+        StringBuilder out = new StringBuilder();
+        out.append("Explicit wait durations (ms)").append(nl).append(nl);
+        out.append(String.format(Locale.ROOT, "%-60s %7s %8s %9s %9s %9s %9s %10s %10s",
+                "profile / caller", "count", "timeouts", "p50", "p95", "p99", "max", "timeout", "suggested")).append(nl);
+        STATS.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .forEach(entry -> {
+                    Stats stats = entry.getValue();
+                    LatencyHistogram histogram = stats.histogram;
+                    long p99 = histogram.valueAtPercentile(99);
+                    out.append(String.format(Locale.ROOT, "%-60s %7d %8d %9.1f %9.1f %9.1f %9.1f %10d %10d",
+                            entry.getKey(), histogram.getCount(), stats.timeouts.get(),
+                            millis(histogram.valueAtPercentile(50)), millis(histogram.valueAtPercentile(95)),
+                            millis(p99), millis(histogram.getMax()),
+                            stats.profile.timeout().toMillis(),
+                            Math.max(1000, TimeUnit.NANOSECONDS.toMillis(p99 * 2)))).append(nl);
+                });
+        out.append(nl).append("Timeouts come from ");
+        for (WaitProfile profile : WaitProfile.values()) {
+            out.append(profile.configKey()).append(' ');
+        }
+        out.append("(scaled by wait.timeout.multiplier).").append(nl);
+        return out.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Stats {
+
+        private final WaitProfile profile;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong timeouts = new AtomicLong();
+
+        private Stats(WaitProfile profile) {
+            this.profile = profile;
+        }
+
+        private void record(long nanos, boolean timedOut) {
+            histogram.record(nanos);
+            if (timedOut) {
+                timeouts.incrementAndGet();
+            }
+        }
+    }
+}
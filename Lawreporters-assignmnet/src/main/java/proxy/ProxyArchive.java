@@ -0,0 +1,201 @@
+package proxy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.json.Json;
+
+/**
+ * On-disk archive of recorded exchanges: a HAR-like index ({@code archive.har.json}) plus response bodies
+ * stored once per SHA-256 under {@code bodies/}. Replay memory-maps bodies on first use.
+ */
+final class ProxyArchive {
+
+    private static final String INDEX = "archive.har.json";
+    private static final Json JSON = new Json();
+
+    private final Path dir;
+    private final Path bodies;
+    private final Map<String, Entry> byRequest = new ConcurrentHashMap<>();
+    // Fallback for cache-busting query strings: last recording of the same method + URL without query.
+    private final Map<String, Entry> byPath = new ConcurrentHashMap<>();
+    private final Map<String, MappedByteBuffer> mapped = new ConcurrentHashMap<>();
+    // Guarded by itself; latest recording per method + URL, so refetching a URL does not grow the index.
+    private final Map<String, Entry> recorded = new LinkedHashMap<>();
+    private long changes;
+    private long savedChanges = -1;
+
+    private ProxyArchive(Path dir) {
+        this.dir = dir;
+        this.bodies = dir.resolve("bodies");
+    }
+
+    static ProxyArchive forRecording(Path dir) throws IOException {
+        Files.createDirectories(dir.resolve("bodies"));
+        return new ProxyArchive(dir);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ProxyArchive forReplay(Path dir) throws IOException {
+        Path index = dir.resolve(INDEX);
+        if (!Files.isRegularFile(index)) {
+            throw new IOException("No recorded archive at " + index + "; run once with proxy.mode=record");
+        }
+        ProxyArchive archive = new ProxyArchive(dir);
+        try (Reader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+            Map<String, Object> har = JSON.toType(reader, Json.MAP_TYPE);
+            Map<String, Object> log = (Map<String, Object>) har.get("log");
+            for (Object raw : (List<Object>) log.get("entries")) {
+                archive.index(Entry.fromHar((Map<String, Object>) raw));
+            }
+        }
+        return archive;
+    }
+
+    Entry find(String method, String url) {
+        Entry entry = byRequest.get(method + " " + url);
+        return entry != null ? entry : byPath.get(method + " " + withoutQuery(url));
+    }
+
+    /**
+     * Read-only view of a recorded body; the mapping is shared by all connections.
+     */
+    MappedByteBuffer body(Entry entry) {
+        MappedByteBuffer buffer = mapped.computeIfAbsent(entry.sha256, hash -> {
+            try (FileChannel channel = FileChannel.open(bodies.resolve(hash), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return (MappedByteBuffer) buffer.duplicate();
+    }
+
+    void record(Entry entry, byte[] body) throws IOException {
+        Path target = bodies.resolve(entry.sha256);
+        if (!Files.exists(target)) {
+            Path temp = Files.createTempFile(bodies, entry.sha256, ".tmp");
+            Files.write(temp, body);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        synchronized (recorded) {
+            recorded.put(entry.method + " " + entry.url, entry);
+            changes++;
+        }
+        index(entry);
+    }
+
+    /**
+     * Rewrites the index with the latest exchange per method and URL recorded so far (write to a temp file,
+     * then move), unless nothing was recorded since the last save. Called periodically while recording, so
+     * a run that is killed keeps the exchanges saved up to its last flush.
+     */
+    synchronized void save() throws IOException {
+        List<Object> entries = new ArrayList<>();
+        long saving;
+        synchronized (recorded) {
+            if (changes == savedChanges) {
+                return;
+            }
+            saving = changes;
+            for (Entry entry : recorded.values()) {
+                entries.add(entry.toHar());
+            }
+        }
+        Path temp = dir.resolve(INDEX + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(JSON.toJson(Map.of("log", Map.of("version", "1.2", "entries", entries))));
+        }
+        Files.move(temp, dir.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        savedChanges = saving;
+    }
+
+    private void index(Entry entry) {
+        byRequest.put(entry.method + " " + entry.url, entry);
+        byPath.put(entry.method + " " + withoutQuery(entry.url), entry);
+    }
+
+    private static String withoutQuery(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+
+    static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One recorded request/response pair; {@code upstreamMillis} is what the live round trip cost.
+     */
+    static final class Entry {
+
+        final String method;
+        final String url;
+        final int status;
+        final List<String[]> headers;
+        final String sha256;
+        final long size;
+        final long upstreamMillis;
+
+        Entry(String method, String url, int status, List<String[]> headers, String sha256, long size,
+              long upstreamMillis) {
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.headers = headers;
+            this.sha256 = sha256;
+            this.size = size;
+            this.upstreamMillis = upstreamMillis;
+        }
+
+        private Map<String, Object> toHar() {
+            List<Object> headerList = new ArrayList<>();
+            for (String[] header : headers) {
+                headerList.add(Map.of("name", header[0], "value", header[1]));
+            }
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("time", upstreamMillis);
+            har.put("request", Map.of("method", method, "url", url));
+            har.put("response", Map.of(
+                    "status", status,
+                    "headers", headerList,
+                    "content", Map.of("size", size, "sha256", sha256)));
+            return har;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Entry fromHar(Map<String, Object> har) {
+            Map<String, Object> request = (Map<String, Object>) har.get("request");
+            Map<String, Object> response = (Map<String, Object>) har.get("response");
+            Map<String, Object> content = (Map<String, Object>) response.get("content");
+            List<String[]> headers = new ArrayList<>();
+            for (Object raw : (List<Object>) response.get("headers")) {
+                Map<String, Object> header = (Map<String, Object>) raw;
+                headers.add(new String[] {(String) header.get("name"), (String) header.get("value")});
+            }
+            return new Entry((String) request.get("method"), (String) request.get("url"),
+                    ((Number) response.get("status")).intValue(), headers, (String) content.get("sha256"),
+                    ((Number) content.get("size")).longValue(), ((Number) har.get("time")).longValue());
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package proxy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import utils.ConfigManager;
+
+/**
+ * Local HTTP(S) proxy for browser traffic. In {@code record} mode every exchange is forwarded upstream
+ * and written to a {@link ProxyArchive}; in {@code replay} mode responses come from the archive only.
+ * HTTPS is intercepted with a self-signed key (generated with the JDK's keytool), so browsers using it
+ * must accept insecure certificates.
+ */
+public final class RecordReplayProxy {
+
+    public enum Mode {
+        RECORD, REPLAY
+    }
+
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "proxy-connection", "keep-alive", "proxy-authorization", "proxy-authenticate",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length", "host", "expect");
+    private static final int IDLE_TIMEOUT_MS = 30_000;
+    private static final char[] KEYSTORE_PASSWORD = "replay-proxy".toCharArray();
+    private static final long FLUSH_SECONDS = Long.parseLong(ConfigManager.get("proxy.archive.flush.seconds", "5"));
+
+    private static RecordReplayProxy shared;
+
+    private final Mode mode;
+    private final ProxyArchive archive;
+    private final ServerSocket server;
+    private final SSLContext tls;
+    private final ExecutorService connections;
+    private final HttpClient upstream;
+    private final ScheduledExecutorService flusher;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong serveNanos = new AtomicLong();
+    private final AtomicLong upstreamMillis = new AtomicLong();
+
+    private RecordReplayProxy(Mode mode, ProxyArchive archive, int port) throws IOException {
+        this.mode = mode;
+        this.archive = archive;
+        this.tls = createTlsContext();
+        this.server = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "replay-proxy-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.upstream = mode == Mode.RECORD
+                ? HttpClient.newBuilder()
+                        .followRedirects(HttpClient.Redirect.NEVER)
+                        .connectTimeout(Duration.ofSeconds(Long.parseLong(ConfigManager.get("http.connect.timeout.seconds", "15"))))
+                        .executor(connections)
+                        .build()
+                : null;
+        // The index is saved as the recording grows; the shutdown hook only writes the last few exchanges.
+        this.flusher = mode == Mode.RECORD
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "replay-proxy-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        if (flusher != null) {
+            flusher.scheduleWithFixedDelay(this::flush, FLUSH_SECONDS, FLUSH_SECONDS, TimeUnit.SECONDS);
+        }
+        Thread acceptor = new Thread(this::acceptLoop, "replay-proxy-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Proxy configured by {@code proxy.mode} (off, record or replay), started once per JVM;
+     * {@code null} when proxying is off.
+     */
+    public static synchronized RecordReplayProxy fromConfig() {
+        String configured = ConfigManager.get("proxy.mode", "off").trim().toLowerCase(Locale.ROOT);
+        if ("off".equals(configured) || configured.isEmpty()) {
+            return null;
+        }
+        if (shared == null) {
+            Mode mode = Mode.valueOf(configured.toUpperCase(Locale.ROOT));
+            Path dir = Paths.get(ConfigManager.get("proxy.archive.dir", "replay-archive"));
+            int port = Integer.parseInt(ConfigManager.get("proxy.port", "0"));
+            try {
+                shared = start(mode, dir, port);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to start " + configured + " proxy on " + dir, e);
+            }
+            RecordReplayProxy started = shared;
+            Runtime.getRuntime().addShutdownHook(new Thread(started::stop, "replay-proxy-stop"));
+        }
+        return shared;
+    }
+
+    /**
+     * Starts a proxy over the archive in {@code dir}; the caller owns it and must {@link #stop()} it.
+     */
+    static RecordReplayProxy start(Mode mode, Path dir, int port) throws IOException {
+        ProxyArchive archive = mode == Mode.RECORD ? ProxyArchive.forRecording(dir) : ProxyArchive.forReplay(dir);
+        return new RecordReplayProxy(mode, archive, port);
+    }
+
+    /**
+     * Proxy started by {@link #fromConfig()}, if any.
+     */
+    public static synchronized RecordReplayProxy active() {
+        return shared;
+    }
+
+    /**
+     * {@code host:port} for the browser's HTTP and SSL proxy settings.
+     */
+    public String address() {
+        return "127.0.0.1:" + server.getLocalPort();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Request counts, bytes and time spent serving, next to what the same responses cost live.
+     */
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "Proxy mode: %s%nRequests: %d%nMisses (not in archive): %d%nBytes served: %d%n"
+                        + "Time serving through proxy: %d ms%nRecorded live upstream time: %d ms%n",
+                mode.name().toLowerCase(Locale.ROOT), requests.get(), misses.get(), bytes.get(),
+                TimeUnit.NANOSECONDS.toMillis(serveNanos.get()), upstreamMillis.get());
+    }
+
+    /**
+     * Stops accepting connections and, in record mode, writes the exchanges recorded since the last flush.
+     */
+    public synchronized void stop() {
+        if (server.isClosed()) {
+            return;
+        }
+        try {
+            server.close();
+            if (mode == Mode.RECORD) {
+                flusher.shutdown();
+                archive.save();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to close proxy archive", e);
+        } finally {
+            connections.shutdownNow();
+        }
+    }
+
+    private void flush() {
+        try {
+            archive.save();
+        } catch (IOException e) {
+            // Retried on the next flush; stop() reports a failure that persists.
+        }
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                // Closed by stop().
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket) {
+            socket.setSoTimeout(IDLE_TIMEOUT_MS);
+            serve(socket, null);
+        } catch (IOException e) {
+            // Browser closed or idled out the connection.
+        }
+    }
+
+    /**
+     * Serves keep-alive requests on one connection; {@code tunnelAuthority} is set inside an intercepted CONNECT.
+     */
+    private void serve(Socket socket, String tunnelAuthority) throws IOException {
+        InputStream in = new BufferedInputStream(socket.getInputStream());
+        OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+        while (true) {
+            Request request = Request.read(in);
+            if (request == null) {
+                return;
+            }
+            if ("CONNECT".equals(request.method)) {
+                out.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+                SSLSocket intercepted = (SSLSocket) tls.getSocketFactory()
+                        .createSocket(socket, request.target.replaceFirst(":\\d+$", ""), socket.getPort(), false);
+                intercepted.setUseClientMode(false);
+                serve(intercepted, request.target);
+                return;
+            }
+
+            long start = System.nanoTime();
+            String url = tunnelAuthority == null
+                    ? request.target
+                    : "https://" + tunnelAuthority.replaceFirst(":443$", "") + request.target;
+            if (!url.startsWith("http://") && !url.startsWith("https://")) {
+                writeResponse(out, request, 400, List.of(), ByteBuffer.allocate(0));
+            } else if (mode == Mode.REPLAY) {
+                replay(out, request, url);
+            } else {
+                record(out, request, url);
+            }
+            out.flush();
+            requests.incrementAndGet();
+            serveNanos.addAndGet(System.nanoTime() - start);
+            if (request.close) {
+                return;
+            }
+        }
+    }
+
+    private void replay(OutputStream out, Request request, String url) throws IOException {
+        ProxyArchive.Entry entry = archive.find(request.method, url);
+        if (entry == null) {
+            misses.incrementAndGet();
+            writeResponse(out, request, 404, List.<String[]>of(new String[] {"X-Replay-Miss", "1"}), ByteBuffer.allocate(0));
+            return;
+        }
+        upstreamMillis.addAndGet(entry.upstreamMillis);
+        writeResponse(out, request, entry.status, entry.headers, archive.body(entry));
+    }
+
+    private void record(OutputStream out, Request request, String url) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(Long.parseLong(ConfigManager.get("http.request.timeout.seconds", "20"))))
+                .method(request.method, request.body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body));
+        for (String[] header : request.headers) {
+            if (!HOP_BY_HOP.contains(header[0].toLowerCase(Locale.ROOT))) {
+                try {
+                    builder.header(header[0], header[1]);
+                } catch (IllegalArgumentException e) {
+                    // Header the JDK client reserves for itself.
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = upstream.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException | IllegalArgumentException e) {
+            misses.incrementAndGet();
+            writeResponse(out, request, 502, List.of(), ByteBuffer.allocate(0));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while proxying " + url, e);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        List<String[]> headers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            String name = header.getKey();
+            if (name.startsWith(":") || HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                headers.add(new String[] {name, value});
+            }
+        }
+        byte[] body = response.body();
+        archive.record(new ProxyArchive.Entry(request.method, url, response.statusCode(), headers,
+                ProxyArchive.sha256(body), body.length, elapsedMillis), body);
+        upstreamMillis.addAndGet(elapsedMillis);
+        writeResponse(out, request, response.statusCode(), headers, ByteBuffer.wrap(body));
+    }
+
+    private void writeResponse(OutputStream out, Request request, int status, List<String[]> headers, ByteBuffer body)
+            throws IOException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ')
+                .append(status < 400 ? "OK" : "Error").append("\r\n");
+        for (String[] header : headers) {
+            head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+        }
+        head.append("Content-Length: ").append(body.remaining()).append("\r\n");
+        if (request.close) {
+            head.append("Connection: close\r\n");
+        }
+        head.append("\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (!"HEAD".equals(request.method)) {
+            bytes.addAndGet(body.remaining());
+            Channels.newChannel(out).write(body);
+        }
+    }
+
+    private static SSLContext createTlsContext() throws IOException {
+        Path keystore = Paths.get("target", "replay-proxy.p12");
+        try {
+            if (!Files.exists(keystore)) {
+                Files.createDirectories(keystore.getParent());
+                Process keytool = new ProcessBuilder(
+                        Paths.get(System.getProperty("java.home"), "bin", "keytool").toString(),
+                        "-genkeypair", "-alias", "replay-proxy", "-keyalg", "RSA", "-keysize", "2048",
+                        "-validity", "3650", "-dname", "CN=replay-proxy", "-storetype", "PKCS12",
+                        "-keystore", keystore.toString(),
+                        "-storepass", new String(KEYSTORE_PASSWORD), "-keypass", new String(KEYSTORE_PASSWORD))
+                        .redirectErrorStream(true)
+                        .start();
+                keytool.getInputStream().transferTo(OutputStream.nullOutputStream());
+                if (keytool.waitFor() != 0) {
+                    throw new IOException("keytool failed to create " + keystore);
+                }
+            }
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            try (InputStream in = Files.newInputStream(keystore)) {
+                store.load(in, KEYSTORE_PASSWORD);
+            }
+            KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keys.init(store, KEYSTORE_PASSWORD);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keys.getKeyManagers(), null, null);
+            return context;
+        } catch (IOException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating proxy key", e);
+        } catch (Exception e) {
+            throw new IOException("Unable to set up proxy TLS", e);
+        }
+    }
+
+    /**
+     * Parsed HTTP/1.x request head plus a Content-Length body.
+     */
+    private static final class Request {
+
+        private final String method;
+        private final String target;
+        private final List<String[]> headers;
+        private final byte[] body;
+        private final boolean close;
+
+        private Request(String method, String target, List<String[]> headers, byte[] body, boolean close) {
+            this.method = method;
+            this.target = target;
+            this.headers = headers;
+            this.body = body;
+            this.close = close;
+        }
+
+        static Request read(InputStream in) throws IOException {
+            String requestLine = readLine(in);
+            while (requestLine != null && requestLine.isEmpty()) {
+                requestLine = readLine(in);
+            }
+            if (requestLine == null) {
+                return null;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 3) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+            List<String[]> headers = new ArrayList<>();
+            int contentLength = 0;
+            boolean close = parts[2].equals("HTTP/1.0");
+            for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    continue;
+                }
+                String name = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim();
+                String lower = name.toLowerCase(Locale.ROOT);
+                if ("content-length".equals(lower)) {
+                    contentLength = Integer.parseInt(value);
+                } else if (("connection".equals(lower) || "proxy-connection".equals(lower))
+                        && "close".equalsIgnoreCase(value)) {
+                    close = true;
+                }
+                headers.add(new String[] {name, value});
+            }
+            byte[] body = in.readNBytes(contentLength);
+            if (body.length < contentLength) {
+                throw new IOException("Request body truncated");
+            }
+            return new Request(parts[0], parts[1], headers, body, close);
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    break;
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            if (b == -1 && line.size() == 0) {
+                return null;
+            }
+            return line.toString(StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * JVM-wide HTTP client shared by page components and API tests, so every probe reuses the same
+ * keep-alive (and HTTP/2 where the server negotiates it) connections instead of repeating handshakes.
+ */
+public final class HttpProbe {
+
+    private static final HttpProbe INSTANCE = new HttpProbe();
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    private HttpProbe() {
+        this.requestTimeout = Duration.ofSeconds(Long.parseLong(ConfigManager.get("http.request.timeout.seconds", "20")));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.valueOf(ConfigManager.get("http.version", "HTTP_2")))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(Long.parseLong(ConfigManager.get("http.connect.timeout.seconds", "15"))))
+                .build();
+    }
+
+    public static HttpProbe getInstance() {
+        return INSTANCE;
+    }
+
+    public HttpClient client() {
+        return client;
+    }
+
+    public Duration requestTimeout() {
+        return requestTimeout;
+    }
+
+    public ProbeResponse get(String url) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        try {
+            return sendAsync(request).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Request failed: GET " + url, e.getCause());
+        }
+    }
+
+    /**
+     * Sends the request and records time to first byte (response headers received) and total time
+     * (body fully read). On a cold connection TTFB includes DNS, TCP connect and TLS handshake.
+     */
+    public CompletableFuture<ProbeResponse> sendAsync(HttpRequest request) {
+        long start = System.nanoTime();
+        long[] headersAt = new long[1];
+        HttpResponse.BodyHandler<byte[]> timedHandler = responseInfo -> {
+            headersAt[0] = System.nanoTime();
+            return HttpResponse.BodySubscribers.ofByteArray();
+        };
+        return client.sendAsync(request, timedHandler)
+                .thenApply(response -> new ProbeResponse(
+                        response.uri().toString(),
+                        response.statusCode(),
+                        response.version(),
+                        new String(response.body(), StandardCharsets.UTF_8),
+                        headersAt[0] - start,
+                        System.nanoTime() - start));
+    }
+}
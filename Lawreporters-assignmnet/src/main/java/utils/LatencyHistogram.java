@@ -0,0 +1,82 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets: each power-of-two range is split into 16 linear
+ * sub-buckets, so any recorded value is reported within ~6% of its true value while memory stays fixed
+ * (under 8 KB) no matter how many samples are recorded. Values are unit-agnostic; callers record nanoseconds.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : (double) sum.sum() / samples;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100], capped at the recorded maximum.
+     */
+    public long valueAtPercentile(double percentile) {
+        long samples = count.sum();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return lower + width - 1;
+    }
+}
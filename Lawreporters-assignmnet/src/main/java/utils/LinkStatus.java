@@ -0,0 +1,59 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * Outcome of a single link check: final status (0 when unreachable), latency and the redirect chain
+ * from the requested URL to the final one.
+ */
+public final class LinkStatus {
+
+    private final String url;
+    private final int statusCode;
+    private final long latencyMs;
+    private final List<String> redirectChain;
+    private final String error;
+
+    LinkStatus(String url, int statusCode, long latencyMs, List<String> redirectChain, String error) {
+        this.url = url;
+        this.statusCode = statusCode;
+        this.latencyMs = latencyMs;
+        this.redirectChain = List.copyOf(redirectChain);
+        this.error = error;
+    }
+
+    static LinkStatus failed(String url, long latencyMs, String error) {
+        return new LinkStatus(url, 0, latencyMs, List.of(), error);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public List<String> getRedirectChain() {
+        return redirectChain;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isOk() {
+        return statusCode > 0 && statusCode < 400;
+    }
+
+    @Override
+    public String toString() {
+        return url + " -> " + statusCode + " (" + latencyMs + " ms"
+                + (redirectChain.size() > 1 ? ", via " + redirectChain : "")
+                + (error == null ? "" : ", " + error) + ")";
+    }
+}
@@ -0,0 +1,187 @@
+package utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Checks many URLs concurrently with non-blocking requests, a per-host concurrency limit and one
+ * overall deadline shared by the whole batch.
+ */
+public final class LinkStatusChecker {
+
+    private final HttpClient httpClient;
+    private final int maxPerHost;
+    private final Duration requestTimeout;
+
+    public LinkStatusChecker(HttpClient httpClient, int maxPerHost, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @return one result per distinct URL, in input order; URLs not finished by the deadline report status 0
+     */
+    public Map<String, LinkStatus> check(Collection<String> urls, Duration deadline) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<LinkStatus>> pending = new LinkedHashMap<>();
+
+        for (String url : new LinkedHashSet<>(urls)) {
+            CompletableFuture<LinkStatus> future = new CompletableFuture<>();
+            pending.put(url, future);
+            HostLimiter limiter = limiters.computeIfAbsent(hostOf(url), host -> new HostLimiter(maxPerHost));
+            limiter.submit(() -> checkAsync(url, deadlineNanos).whenComplete((status, error) -> {
+                limiter.done();
+                future.complete(status);
+            }));
+        }
+
+        try {
+            CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Unfinished checks are reported individually below.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Map<String, LinkStatus> results = new LinkedHashMap<>();
+        pending.forEach((url, future) -> results.put(url,
+                future.getNow(LinkStatus.failed(url, deadline.toMillis(), "deadline exceeded"))));
+        return Collections.unmodifiableMap(results);
+    }
+
+    private CompletableFuture<LinkStatus> checkAsync(String url, long deadlineNanos) {
+        long start = System.nanoTime();
+        if (start >= deadlineNanos) {
+            return CompletableFuture.completedFuture(LinkStatus.failed(url, 0, "deadline exceeded"));
+        }
+        URI uri;
+        CompletableFuture<HttpResponse<Void>> headRequest;
+        try {
+            uri = URI.create(url);
+            // Try HEAD first (faster); if blocked by server, fallback to GET.
+            headRequest = send(uri, "HEAD", deadlineNanos);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(LinkStatus.failed(url, 0, e.toString()));
+        }
+
+        return headRequest
+                .thenCompose(head -> head.statusCode() < 400
+                        ? CompletableFuture.completedFuture(head)
+                        : send(uri, "GET", deadlineNanos))
+                .handle((response, error) -> {
+                    long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (error != null) {
+                        Throwable cause = error.getCause() == null ? error : error.getCause();
+                        return LinkStatus.failed(url, latencyMs, cause.toString());
+                    }
+                    return new LinkStatus(url, response.statusCode(), latencyMs, redirectChain(response), null);
+                });
+    }
+
+    private CompletableFuture<HttpResponse<Void>> send(URI uri, String method, long deadlineNanos) {
+        Duration remaining = Duration.ofNanos(Math.max(1, deadlineNanos - System.nanoTime()));
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(remaining.compareTo(requestTimeout) < 0 ? remaining : requestTimeout)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static List<String> redirectChain(HttpResponse<?> response) {
+        List<String> chain = new ArrayList<>();
+        Optional<? extends HttpResponse<?>> current = Optional.of(response);
+        while (current.isPresent()) {
+            chain.add(0, current.get().uri().toString());
+            current = current.get().previousResponse();
+        }
+        return chain;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host.toLowerCase();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Runs at most {@code permits} tasks at a time; queued tasks start as earlier ones complete,
+     * so no thread ever blocks waiting for a permit. Tasks that complete synchronously (deadline already
+     * passed, URL rejected) release their permit from inside {@link #done()}; those releases are drained by
+     * the loop already running instead of recursing, so a long queue cannot overflow the stack.
+     */
+    private static final class HostLimiter {
+
+        private final int permits;
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+        // Permits released but not yet handed on; only the thread that set draining hands them on.
+        private int released;
+        private boolean draining;
+
+        private HostLimiter(int permits) {
+            this.permits = permits;
+        }
+
+        private void submit(Runnable task) {
+            synchronized (this) {
+                if (active >= permits) {
+                    waiting.add(task);
+                    return;
+                }
+                active++;
+            }
+            task.run();
+        }
+
+        private void done() {
+            synchronized (this) {
+                released++;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            while (true) {
+                Runnable next;
+                synchronized (this) {
+                    if (released == 0) {
+                        draining = false;
+                        return;
+                    }
+                    released--;
+                    next = waiting.poll();
+                    if (next == null) {
+                        active--;
+                        continue;
+                    }
+                }
+                next.run();
+            }
+        }
+    }
+}
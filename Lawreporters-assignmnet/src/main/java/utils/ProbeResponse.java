@@ -0,0 +1,59 @@
+package utils;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response captured by {@link HttpProbe}, including time-to-first-byte and total timing.
+ */
+public final class ProbeResponse {
+
+    private final String uri;
+    private final int statusCode;
+    private final HttpClient.Version version;
+    private final String body;
+    private final long ttfbNanos;
+    private final long totalNanos;
+
+    ProbeResponse(String uri, int statusCode, HttpClient.Version version, String body, long ttfbNanos, long totalNanos) {
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.version = version;
+        this.body = body;
+        this.ttfbNanos = ttfbNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public long getTtfbMs() {
+        return TimeUnit.NANOSECONDS.toMillis(ttfbNanos);
+    }
+
+    public long getTotalMs() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return uri + " -> " + statusCode + " " + version + " (ttfb " + getTtfbMs() + " ms, total " + getTotalMs() + " ms)";
+    }
+}
@@ -0,0 +1,39 @@
+package utils;
+
+/**
+ * Pure string helpers for site URLs and paths, shared by page objects (and benchmarked in isolation).
+ */
+public final class UrlUtils {
+
+    private UrlUtils() {
+    }
+
+    public static String toAbsoluteUrl(String baseUrl, String href) {
+        if (href == null || href.isBlank()) {
+            return "";
+        }
+        if (href.startsWith("http://") || href.startsWith("https://")) {
+            return href;
+        }
+        String normalizedBase = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        String normalizedHref = href.startsWith("/") ? href : "/" + href;
+        return normalizedBase + normalizedHref;
+    }
+
+    /**
+     * Leading slash, no trailing slash (except for the root itself).
+     */
+    public static String normalizePath(String path) {
+        if (path == null || path.isBlank()) {
+            return "/";
+        }
+        String normalized = path.trim();
+        if (!normalized.startsWith("/")) {
+            normalized = "/" + normalized;
+        }
+        if (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+}
@@ -1,23 +1,24 @@
 package api;
 
-import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.containsStringIgnoringCase;
-import static org.hamcrest.Matchers.anyOf;
-import static org.hamcrest.Matchers.equalTo;
-
+import java.util.List;
+import org.testng.Assert;
+import org.testng.Reporter;
 import org.testng.annotations.Test;
 import utils.ConfigManager;
+import utils.HttpProbe;
+import utils.ProbeResponse;
 
 public class HomePageApiTest {
 
     @Test(description = "Validate The Law Reporters home page API response")
     public void validateHomePageResponse() {
-        given()
-                .baseUri(ConfigManager.get("api.base.url", "https://thelawreporters.com/"))
-        .when()
-                .get("/")
-        .then()
-                .statusCode(anyOf(equalTo(200), equalTo(301), equalTo(302)))
-                .body(containsStringIgnoringCase("lawreporters"));
+        ProbeResponse response = HttpProbe.getInstance()
+                .get(ConfigManager.get("api.base.url", "https://thelawreporters.com/"));
+        Reporter.log(response.toString());
+
+        Assert.assertTrue(List.of(200, 301, 302).contains(response.getStatusCode()),
+                "Unexpected status code: " + response);
+        Assert.assertTrue(response.getBody().toLowerCase().contains("lawreporters"),
+                "Response body should contain 'lawreporters'");
     }
 }
@@ -0,0 +1,313 @@
+package api;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import utils.ConfigManager;
+import utils.HttpProbe;
+import utils.LatencyHistogram;
+import utils.ProbeResponse;
+import utils.UrlUtils;
+
+/**
+ * HTTP load on the site's pages through the shared {@link HttpProbe} client: {@code load.users} users start
+ * evenly over the ramp-up, then each sends GETs to the endpoints in turn until the run ends (ramp-up plus
+ * duration). With a target rate, requests are issued on a fixed schedule and latency is measured from each request's
+ * scheduled start, so a slow server shows up as latency rather than as fewer requests (no coordinated
+ * omission). Users run on virtual threads when the JVM has them (21+), on platform threads otherwise.
+ */
+public final class LoadGenerator {
+
+    private final Profile profile;
+    private final HttpProbe probe = HttpProbe.getInstance();
+
+    private final LatencyHistogram all = new LatencyHistogram();
+    private final LatencyHistogram service = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> byEndpoint = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errorsByEndpoint = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LoadGenerator(Profile profile) {
+        this.profile = profile;
+        for (String endpoint : profile.endpoints) {
+            byEndpoint.put(endpoint, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Runs the profile to completion and returns the measurements.
+     */
+    public Result run() throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + profile.rampUp.toNanos() + profile.duration.toNanos();
+        ExecutorService users = userExecutor(profile.users);
+        String threads = users.getClass().getSimpleName().contains("ThreadPerTask") ? "virtual" : "platform";
+        try {
+            for (int user = 0; user < profile.users; user++) {
+                int index = user;
+                long startAt = start + profile.rampUp.toNanos() * user / profile.users;
+                users.execute(() -> runUser(index, startAt, end));
+            }
+            users.shutdown();
+            // Requests in flight at the end may take up to the client's request timeout.
+            long grace = probe.requestTimeout().toNanos() + TimeUnit.SECONDS.toNanos(5);
+            if (!users.awaitTermination(end - System.nanoTime() + grace, TimeUnit.NANOSECONDS)) {
+                users.shutdownNow();
+            }
+        } finally {
+            users.shutdownNow();
+        }
+        return new Result(threads, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * One user's loop. With a target rate each user owns an even share of it, offset by its index so the
+     * users' requests interleave, and the rate grows with the users started during ramp-up.
+     */
+    private void runUser(int user, long startAt, long end) {
+        long interval = profile.slotNanos() * profile.users;
+        long next = startAt + profile.slotNanos() * user;
+        while (!Thread.currentThread().isInterrupted()) {
+            long scheduled = profile.targetRps > 0 ? next : Math.max(startAt, System.nanoTime());
+            if (scheduled >= end) {
+                return;
+            }
+            parkUntil(scheduled);
+            String endpoint = profile.endpoints.get((int) (sequence.getAndIncrement() % profile.endpoints.size()));
+            send(endpoint, scheduled);
+            next += interval;
+        }
+    }
+
+    private void send(String endpoint, long scheduled) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(UrlUtils.toAbsoluteUrl(profile.baseUrl, endpoint)))
+                .timeout(probe.requestTimeout())
+                .GET()
+                .build();
+        requests.increment();
+        String failure;
+        try {
+            ProbeResponse response = probe.sendAsync(request).join();
+            if (response.getStatusCode() < 400) {
+                long latency = System.nanoTime() - scheduled;
+                all.record(latency);
+                byEndpoint.get(endpoint).record(latency);
+                service.record(response.getTotalNanos());
+                return;
+            }
+            failure = "HTTP " + response.getStatusCode();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            failure = cause.getClass().getSimpleName();
+        }
+        errors.increment();
+        errorsByEndpoint.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        errorsByCause.computeIfAbsent(failure, key -> new LongAdder()).increment();
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static ExecutorService userExecutor(int users) {
+        try {
+            // The framework targets Java 17; on a 21+ runtime each user gets a virtual thread.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(users, runnable -> {
+                Thread thread = new Thread(runnable, "load-user");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Users, ramp-up, duration, target rate, endpoints and pass/fail thresholds of one load run.
+     */
+    public static final class Profile {
+
+        private final String baseUrl;
+        private final int users;
+        private final Duration rampUp;
+        private final Duration duration;
+        private final double targetRps;
+        private final List<String> endpoints;
+        private final long maxP95Ms;
+        private final long maxP99Ms;
+        private final double maxErrorRate;
+
+        public Profile(String baseUrl, int users, Duration rampUp, Duration duration, double targetRps,
+                List<String> endpoints, long maxP95Ms, long maxP99Ms, double maxErrorRate) {
+            if (users < 1 || endpoints.isEmpty()) {
+                throw new IllegalArgumentException("A load profile needs at least one user and one endpoint");
+            }
+            this.baseUrl = baseUrl;
+            this.users = users;
+            this.rampUp = rampUp;
+            this.duration = duration;
+            this.targetRps = targetRps;
+            this.endpoints = List.copyOf(endpoints);
+            this.maxP95Ms = maxP95Ms;
+            this.maxP99Ms = maxP99Ms;
+            this.maxErrorRate = maxErrorRate;
+        }
+
+        /**
+         * Profile from the {@code load.*} keys, against {@code api.base.url}.
+         */
+        public static Profile fromConfig() {
+            List<String> endpoints = new ArrayList<>();
+            for (String endpoint : ConfigManager.get("load.endpoints", "/,/jobs,/events,/contact-us").split(",")) {
+                if (!endpoint.isBlank()) {
+                    endpoints.add(UrlUtils.normalizePath(endpoint));
+                }
+            }
+            return new Profile(
+                    ConfigManager.get("api.base.url", "https://thelawreporters.com/"),
+                    Integer.parseInt(ConfigManager.get("load.users", "10")),
+                    Duration.ofSeconds(Long.parseLong(ConfigManager.get("load.ramp.up.seconds", "5"))),
+                    Duration.ofSeconds(Long.parseLong(ConfigManager.get("load.duration.seconds", "30"))),
+                    Double.parseDouble(ConfigManager.get("load.target.rps", "20")),
+                    endpoints,
+                    Long.parseLong(ConfigManager.get("load.max.p95.ms", "1500")),
+                    Long.parseLong(ConfigManager.get("load.max.p99.ms", "3000")),
+                    Double.parseDouble(ConfigManager.get("load.max.error.rate", "0.01")));
+        }
+
+        // Gap between consecutive requests of the whole run at the target rate.
+        private long slotNanos() {
+            return targetRps > 0 ? Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / targetRps)) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d users, ramp-up %ds, duration %ds, target %s, endpoints %s on %s",
+                    users, rampUp.toSeconds(), duration.toSeconds(),
+                    targetRps > 0 ? String.format(Locale.ROOT, "%.1f req/s", targetRps) : "unthrottled",
+                    endpoints, baseUrl);
+        }
+    }
+
+    /**
+     * Measurements of a finished run and its verdict against the profile's thresholds.
+     */
+    public final class Result {
+
+        private final String threads;
+        private final Duration elapsed;
+
+        private Result(String threads, Duration elapsed) {
+            this.threads = threads;
+            this.elapsed = elapsed;
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public double getErrorRate() {
+            long total = requests.sum();
+            return total == 0 ? 0 : (double) errors.sum() / total;
+        }
+
+        public double getThroughput() {
+            return requests.sum() / Math.max(0.001, elapsed.toNanos() / 1e9);
+        }
+
+        public LatencyHistogram getLatency() {
+            return all;
+        }
+
+        /**
+         * Broken thresholds (p95, p99, error rate); empty when the run passed. A run without a single
+         * request fails as well, since it says nothing about capacity.
+         */
+        public List<String> failures() {
+            List<String> failures = new ArrayList<>();
+            if (requests.sum() == 0) {
+                failures.add("no requests were sent");
+                return failures;
+            }
+            long p95 = TimeUnit.NANOSECONDS.toMillis(all.valueAtPercentile(95));
+            long p99 = TimeUnit.NANOSECONDS.toMillis(all.valueAtPercentile(99));
+            if (p95 > profile.maxP95Ms) {
+                failures.add("p95 " + p95 + " ms > " + profile.maxP95Ms + " ms");
+            }
+            if (p99 > profile.maxP99Ms) {
+                failures.add("p99 " + p99 + " ms > " + profile.maxP99Ms + " ms");
+            }
+            if (getErrorRate() > profile.maxErrorRate) {
+                failures.add(String.format(Locale.ROOT, "error rate %.2f%% > %.2f%%",
+                        getErrorRate() * 100, profile.maxErrorRate * 100));
+            }
+            return failures;
+        }
+
+        /**
+         * Plain-text report: profile, throughput, latency percentiles overall and per endpoint, errors, verdict.
+         */
+        public String report() {
+            String nl = System.lineSeparator();
+            StringBuilder out = new StringBuilder();
+            out.append("Load run: ").append(profile).append(nl);
+            out.append(String.format(Locale.ROOT,
+                    "Elapsed %.1f s on %s threads: %d requests, %.1f req/s, %d errors (%.2f%%)%n",
+                    elapsed.toMillis() / 1000.0, threads, requests.sum(), getThroughput(), errors.sum(),
+                    getErrorRate() * 100));
+            out.append(nl).append("Latency of successful requests (ms")
+                    .append(profile.targetRps > 0 ? ", from scheduled start" : "").append(')').append(nl);
+            out.append(String.format(Locale.ROOT, "%-30s %8s %9s %9s %9s %9s %9s",
+                    "endpoint", "ok", "p50", "p90", "p95", "p99", "max")).append(nl);
+            out.append(row("ALL", all)).append(nl);
+            byEndpoint.forEach((endpoint, histogram) -> out.append(row(endpoint, histogram)).append(nl));
+            out.append(row("service time (send to body)", service)).append(nl);
+
+            if (errors.sum() > 0) {
+                out.append(nl).append("Errors").append(nl);
+                errorsByEndpoint.forEach((endpoint, count) -> out.append("  ").append(endpoint).append(": ")
+                        .append(count.sum()).append(nl));
+                errorsByCause.forEach((cause, count) -> out.append("  ").append(cause).append(": ")
+                        .append(count.sum()).append(nl));
+            }
+
+            List<String> failures = failures();
+            out.append(nl).append(String.format(Locale.ROOT,
+                    "Thresholds: p95 <= %d ms, p99 <= %d ms, error rate <= %.2f%%%n",
+                    profile.maxP95Ms, profile.maxP99Ms, profile.maxErrorRate * 100));
+            out.append(failures.isEmpty() ? "PASSED" : "FAILED: " + String.join("; ", failures)).append(nl);
+            return out.toString();
+        }
+
+        private String row(String label, LatencyHistogram histogram) {
+            return String.format(Locale.ROOT, "%-30s %8d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    label, histogram.getCount(),
+                    millis(histogram.valueAtPercentile(50)), millis(histogram.valueAtPercentile(90)),
+                    millis(histogram.valueAtPercentile(95)), millis(histogram.valueAtPercentile(99)),
+                    millis(histogram.getMax()));
+        }
+
+        private double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
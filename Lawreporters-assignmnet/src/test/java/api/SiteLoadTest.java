@@ -0,0 +1,25 @@
+package api;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+import reporting.ReportPaths;
+
+public class SiteLoadTest {
+
+    @Test(description = "Capacity smoke test: pages stay within latency and error thresholds under the load profile")
+    public void pagesMeetLatencyAndErrorThresholds() throws InterruptedException, IOException {
+        LoadGenerator.Profile profile = LoadGenerator.Profile.fromConfig();
+        LoadGenerator.Result result = new LoadGenerator(profile).run();
+        String report = result.report();
+        Reporter.log(report);
+
+        Files.createDirectories(ReportPaths.dir());
+        Files.write(ReportPaths.resolve("load-report.txt"), report.getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertTrue(result.failures().isEmpty(), "Load thresholds broken: " + result.failures());
+    }
+}
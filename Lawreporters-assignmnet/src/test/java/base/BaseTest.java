@@ -1,24 +1,32 @@
 package base;
 
+import java.util.Arrays;
+import listeners.FailureClass;
 import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
 import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
+import pages.components.ConsentStateStore;
+import pages.support.PageMetrics;
+import pages.support.Waits;
 import utils.ConfigManager;
 
 public class BaseTest {
 
-    protected WebDriver driver;
+    /** Test-result attribute holding the invocation's driver, so listeners never need reflection. */
+    public static final String DRIVER_ATTRIBUTE = "framework.driver";
 
     @BeforeMethod(alwaysRun = true)
     @Parameters({"browser"})
-    public void setUp(@Optional("") String browser) {
+    public void setUp(@Optional("") String browser, ITestResult result) {
         String requestedBrowser = (browser == null || browser.isBlank())
                 ? ConfigManager.get("browser", "chrome")
                 : browser;
 
+        WebDriver driver;
         try {
             driver = DriverFactory.initDriver(requestedBrowser);
         } catch (RuntimeException e) {
@@ -28,12 +36,72 @@ public class BaseTest {
             }
             throw e;
         }
+        result.setAttribute(DRIVER_ATTRIBUTE, driver);
+        CommandTimings.startTest(invocationKey(result));
+        Waits.startTest();
+        boolean blocked = ResourceBlocker.apply(driver, invocationKey(result), blocksThirdPartyResources());
+        PageMetrics.startTest(driver, invocationKey(result), blocked);
 
-        driver.get(ConfigManager.get("base.url", "https://thelawreporters.com/"));
+        String baseUrl = ConfigManager.get("base.url", "https://thelawreporters.com/");
+        if (seedsConsentState() && Boolean.parseBoolean(ConfigManager.get("consent.seed.enabled", "true"))) {
+            ConsentStateStore.seed(driver, baseUrl);
+        }
+        driver.get(baseUrl);
     }
 
     @AfterMethod(alwaysRun = true)
-    public void tearDown() {
-        DriverFactory.quitDriver();
+    public void tearDown(ITestResult result) {
+        result.removeAttribute(DRIVER_ATTRIBUTE);
+        // Untag first so pool-reset commands are not charged to the test.
+        CommandTimings.endTest();
+        Waits.endTest();
+        PageMetrics.endTest();
+        if (result.getThrowable() != null && FailureClass.of(result.getThrowable()).isInfrastructure()) {
+            // Lost session or browser connection: never hand it to the next test (or this test's retry).
+            DriverFactory.quitDriver();
+        } else {
+            DriverFactory.releaseDriver();
+        }
+    }
+
+    /**
+     * Whether the accepted cookie-consent state is injected before the first page load.
+     * Tests that exercise the banner itself override this to see a first visit.
+     */
+    protected boolean seedsConsentState() {
+        return true;
+    }
+
+    /**
+     * Whether analytics/ad/social requests and heavy resource types are blocked for this test.
+     * Layout and visual checks override this so the page renders exactly as users see it.
+     */
+    protected boolean blocksThirdPartyResources() {
+        return true;
+    }
+
+    /**
+     * Driver bound to the current test invocation. Safe under parallel="methods" because
+     * setup, test body and teardown of one invocation always run on the same thread.
+     */
+    protected WebDriver getDriver() {
+        return DriverFactory.getDriver();
+    }
+
+    public static WebDriver driverOf(ITestResult result) {
+        Object driver = result.getAttribute(DRIVER_ATTRIBUTE);
+        return driver instanceof WebDriver ? (WebDriver) driver : null;
+    }
+
+    /**
+     * Key under which an invocation's command timings, blocked requests and page metrics are recorded: the
+     * suite {@code <test>} (cross-browser suites run the same method in several blocks at once), then
+     * Class.method plus data-provider parameters. Stable across retries of the invocation.
+     */
+    public static String invocationKey(ITestResult result) {
+        String key = result.getTestContext().getName() + " / "
+                + result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        return parameters == null || parameters.length == 0 ? key : key + Arrays.toString(parameters);
     }
 }
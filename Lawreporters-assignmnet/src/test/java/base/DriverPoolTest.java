@@ -0,0 +1,105 @@
+package base;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DriverPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test(description = "A caller waiting on a full pool gets the session another test releases")
+    public void waiterReceivesReleasedSession() throws Exception {
+        DriverPool pool = new DriverPool(1, 25, Duration.ofMinutes(30), TIMEOUT);
+        AtomicInteger started = new AtomicInteger();
+        WebDriver first = pool.acquire("chrome", () -> fakeDriver(started, new AtomicBoolean()));
+
+        CompletableFuture<WebDriver> waiter = CompletableFuture.supplyAsync(
+                () -> pool.acquire("chrome", () -> fakeDriver(started, new AtomicBoolean())));
+        Thread.sleep(200);
+        Assert.assertFalse(waiter.isDone(), "The pool is full, so the second caller should wait");
+        long releasedAt = System.nanoTime();
+        pool.release(first);
+
+        Assert.assertSame(waiter.get(5, TimeUnit.SECONDS), first);
+        Assert.assertTrue(System.nanoTime() - releasedAt < TimeUnit.SECONDS.toNanos(2),
+                "The waiter should wake on release, not at the acquire timeout");
+        Assert.assertEquals(started.get(), 1);
+    }
+
+    @Test(description = "A session of another key released during the wait is evicted to make room")
+    public void waiterEvictsSessionOfAnotherKeyReleasedDuringWait() throws Exception {
+        DriverPool pool = new DriverPool(1, 25, Duration.ofMinutes(30), TIMEOUT);
+        AtomicInteger started = new AtomicInteger();
+        AtomicBoolean chromeQuit = new AtomicBoolean();
+        WebDriver chrome = pool.acquire("chrome", () -> fakeDriver(started, chromeQuit));
+
+        CompletableFuture<WebDriver> waiter = CompletableFuture.supplyAsync(
+                () -> pool.acquire("firefox", () -> fakeDriver(started, new AtomicBoolean())));
+        Thread.sleep(200);
+        pool.release(chrome);
+
+        WebDriver firefox = waiter.get(5, TimeUnit.SECONDS);
+        Assert.assertNotSame(firefox, chrome);
+        Assert.assertTrue(chromeQuit.get(), "The idle chrome session should have been evicted");
+        Assert.assertEquals(started.get(), 2);
+    }
+
+    @Test(description = "A failed start gives its slot back to the pool")
+    public void failedStartFreesItsSlot() {
+        DriverPool pool = new DriverPool(1, 25, Duration.ofMinutes(30), Duration.ofMillis(200));
+        Assert.assertThrows(IllegalArgumentException.class, () -> pool.acquire("chrome", () -> {
+            throw new IllegalArgumentException("browser failed to start");
+        }));
+
+        WebDriver driver = pool.acquire("chrome", () -> fakeDriver(new AtomicInteger(), new AtomicBoolean()));
+        Assert.assertNotNull(driver);
+    }
+
+    /**
+     * Driver whose every call succeeds; nested interfaces (options, window, timeouts) are answered the same way.
+     */
+    private static WebDriver fakeDriver(AtomicInteger started, AtomicBoolean quit) {
+        started.incrementAndGet();
+        InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "fake-driver";
+                    case "quit":
+                        quit.set(true);
+                        return null;
+                    case "getWindowHandle":
+                        return "main";
+                    case "getWindowHandles":
+                        return Set.of("main");
+                    case "getSize":
+                        return new Dimension(1280, 800);
+                    default:
+                        Class<?> type = method.getReturnType();
+                        return type.isInterface() && type != Object.class
+                                ? Proxy.newProxyInstance(DriverPoolTest.class.getClassLoader(), new Class<?>[] {type}, this)
+                                : null;
+                }
+            }
+        };
+        return (WebDriver) Proxy.newProxyInstance(DriverPoolTest.class.getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class}, handler);
+    }
+}
@@ -0,0 +1,128 @@
+package fixtures;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server on the loopback interface serving the recorded site snapshots under
+ * {@code src/test/resources/fixtures}: {@code /} maps to {@code home/index.html}, {@code /<page>} to
+ * {@code <page>/index.html}, and {@code /assets/**} and other files are served as-is.
+ */
+public final class FixtureServer {
+
+    private static final String ROOT = "fixtures/";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "txt", "text/plain; charset=utf-8",
+            "json", "application/json");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Resources never change during a run; Optional.empty() caches misses too.
+    private final Map<String, Optional<byte[]>> cache = new ConcurrentHashMap<>();
+
+    private FixtureServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts the server on 127.0.0.1; port 0 picks a free port.
+     */
+    public static FixtureServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(16, runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        FixtureServer fixtureServer = new FixtureServer(server, executor);
+        server.createContext("/", fixtureServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return fixtureServer;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String resource = resourceFor(exchange.getRequestURI().getPath());
+            Optional<byte[]> body = resource == null ? Optional.empty() : cache.computeIfAbsent(resource, this::load);
+            if (body.isEmpty()) {
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPES.get("txt"));
+                send(exchange, 404, "Not found".getBytes(), "HEAD".equals(method));
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType(resource));
+            exchange.getResponseHeaders().set("Cache-Control",
+                    resource.startsWith(ROOT + "assets/") ? "max-age=300" : "no-cache");
+            send(exchange, 200, body.get(), "HEAD".equals(method));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body, boolean headOnly) throws IOException {
+        if (headOnly) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(body.length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String resourceFor(String path) {
+        if (path == null || path.contains("..")) {
+            return null;
+        }
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        if (trimmed.isEmpty()) {
+            return ROOT + "home/index.html";
+        }
+        int lastSegment = trimmed.lastIndexOf('/');
+        boolean hasExtension = trimmed.indexOf('.', lastSegment + 1) > 0;
+        return hasExtension ? ROOT + trimmed : ROOT + trimmed + "/index.html";
+    }
+
+    private Optional<byte[]> load(String resource) {
+        try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream(resource)) {
+            return in == null ? Optional.empty() : Optional.of(in.readAllBytes());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String contentType(String resource) {
+        String extension = resource.substring(resource.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+}
@@ -0,0 +1,160 @@
+package listeners;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Which project classes each compiled class refers to, read from the constant pools of the
+ * {@code .class} files (class references plus field/method descriptors and generic signatures). Nested
+ * classes are folded into their top-level class, since that is the unit a source change maps to.
+ */
+final class ClassDependencies {
+
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w/$]+)[;<]");
+
+    private final Map<String, Set<String>> direct;
+
+    private ClassDependencies(Map<String, Set<String>> direct) {
+        this.direct = direct;
+    }
+
+    static ClassDependencies scan(List<Path> roots) throws IOException {
+        Map<String, Set<String>> references = new HashMap<>();
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            List<Path> classFiles;
+            try (Stream<Path> files = Files.walk(root)) {
+                classFiles = files.filter(file -> file.toString().endsWith(".class")).collect(Collectors.toList());
+            }
+            for (Path classFile : classFiles) {
+                String name = topLevel(root.relativize(classFile).toString()
+                        .replace('\\', '/').replaceAll("\\.class$", "").replace('/', '.'));
+                try (InputStream inputStream = Files.newInputStream(classFile)) {
+                    references.computeIfAbsent(name, key -> new HashSet<>()).addAll(referencedTypes(inputStream));
+                }
+            }
+        }
+        // Keep only edges between project classes; JDK and library types never appear in a diff.
+        Map<String, Set<String>> direct = new HashMap<>();
+        references.forEach((name, types) -> direct.put(name, types.stream()
+                .filter(type -> references.containsKey(type) && !type.equals(name))
+                .collect(Collectors.toCollection(TreeSet::new))));
+        return new ClassDependencies(direct);
+    }
+
+    Set<String> classes() {
+        return Collections.unmodifiableSet(direct.keySet());
+    }
+
+    Set<String> directDependencies(String className) {
+        return direct.getOrDefault(className, Set.of());
+    }
+
+    /**
+     * Every project class reachable from the given one (superclasses, page objects, their helpers).
+     */
+    Set<String> transitiveDependencies(String className) {
+        Set<String> seen = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(directDependencies(className));
+        while (!pending.isEmpty()) {
+            String next = pending.pop();
+            if (seen.add(next)) {
+                pending.addAll(directDependencies(next));
+            }
+        }
+        return seen;
+    }
+
+    static String topLevel(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    static Set<String> referencedTypes(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(classFile));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        Set<Integer> classIndexes = new HashSet<>();
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7:
+                    classIndexes.add(in.readUnsignedShort());
+                    break;
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    in.readUnsignedShort();
+                    break;
+                case 15:
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    in.readInt();
+                    break;
+                case 5:
+                case 6:
+                    // Long and double take two constant pool slots.
+                    in.readLong();
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        Set<String> types = new HashSet<>();
+        for (int index : classIndexes) {
+            String name = utf8[index];
+            if (name != null && !name.startsWith("[")) {
+                types.add(topLevel(name.replace('/', '.')));
+            }
+        }
+        for (String value : utf8) {
+            if (value != null && value.indexOf('L') >= 0) {
+                // Descriptors, signatures and array class names: "(Lpages/Homepage;)V", "[Lpages/Homepage;".
+                Matcher matcher = DESCRIPTOR_TYPE.matcher(value);
+                while (matcher.find()) {
+                    types.add(topLevel(matcher.group(1).replace('/', '.')));
+                }
+            }
+        }
+        return types;
+    }
+}
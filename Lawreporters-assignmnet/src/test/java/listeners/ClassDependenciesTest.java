@@ -0,0 +1,90 @@
+package listeners;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pages.Homepage;
+import pages.components.ContactFormComponent;
+import pages.support.PageMetrics;
+import utils.ConfigManager;
+import utils.LinkStatus;
+
+public class ClassDependenciesTest {
+
+    @Test(description = "Types referenced through class constants, descriptors and generic signatures are found")
+    public void readsReferencedTypesFromTheConstantPool() throws IOException {
+        Set<String> types = referencedTypes(Fixture.class);
+
+        // Class constant (static call).
+        Assert.assertTrue(types.contains("utils.ConfigManager"), types.toString());
+        // Field descriptor only; arrays of it as well.
+        Assert.assertTrue(types.contains("pages.Homepage"), types.toString());
+        // Generic signature only: List<ContactFormComponent>.
+        Assert.assertTrue(types.contains("pages.components.ContactFormComponent"), types.toString());
+        // Method descriptor only.
+        Assert.assertTrue(types.contains("utils.LinkStatus"), types.toString());
+        // Nested class folded into its top-level class.
+        Assert.assertTrue(types.contains("pages.support.PageMetrics"), types.toString());
+        Assert.assertFalse(types.stream().anyMatch(type -> type.contains("$")), types.toString());
+        // The fixture itself is nested in this test class.
+        Assert.assertTrue(types.contains(ClassDependenciesTest.class.getName()), types.toString());
+    }
+
+    @Test(description = "Long and double constants take two pool slots without derailing the parse")
+    public void skipsWideConstants() throws IOException {
+        Set<String> types = referencedTypes(WideConstants.class);
+
+        Assert.assertTrue(types.contains("utils.ConfigManager"), types.toString());
+    }
+
+    @Test(description = "Anything that is not a class file is rejected")
+    public void rejectsNonClassFiles() {
+        Assert.assertThrows(IOException.class, () -> ClassDependencies.referencedTypes(
+                new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+
+    private static Set<String> referencedTypes(Class<?> type) throws IOException {
+        String resource = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+        try (InputStream classFile = type.getResourceAsStream(resource)) {
+            Assert.assertNotNull(classFile, resource);
+            return ClassDependencies.referencedTypes(classFile);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Fixture {
+
+        private Homepage page;
+        private Homepage[] pages;
+        private List<ContactFormComponent> forms;
+        private PageMetrics.Sample sample;
+
+        private String baseUrl() {
+            return ConfigManager.get("base.url", "");
+        }
+
+        private boolean isOk(LinkStatus status) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static final class WideConstants {
+
+        private long big() {
+            return 123_456_789_012L;
+        }
+
+        private double ratio() {
+            return 0.123456789;
+        }
+
+        private String afterWideConstants() {
+            return ConfigManager.get("x", "y");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package listeners;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import utils.ConfigManager;
+
+/**
+ * Starts methods that failed in their last {@code select.failed.recent.runs} runs of {@link TestHistory}
+ * first, so a pre-merge run reports the likely failures early ({@code select.failed.first=false} turns it
+ * off). Registered after the other interceptors so this ordering is final; inside each group their order
+ * (longest first) is kept.
+ */
+public class FailedFirstScheduler implements IMethodInterceptor {
+
+    private final boolean failedFirst = Boolean.parseBoolean(ConfigManager.get("select.failed.first", "true"));
+    private final int recentRuns = Integer.parseInt(ConfigManager.get("select.failed.recent.runs", "3"));
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!failedFirst || methods.size() < 2) {
+            return methods;
+        }
+        Set<String> recentlyFailed = recentlyFailed();
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // Stable sort: inside each group the previous interceptors' order is kept.
+        ordered.sort(Comparator.comparing((IMethodInstance method) ->
+                !recentlyFailed.contains(TestHistory.key(method.getMethod()))));
+        return ordered;
+    }
+
+    private Set<String> recentlyFailed() {
+        Map<String, List<TestHistory.Outcome>> outcomes = new HashMap<>();
+        for (TestHistory.Entry entry : TestHistory.history()) {
+            outcomes.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(entry.getOutcome());
+        }
+        Set<String> failed = new HashSet<>();
+        outcomes.forEach((key, runs) -> {
+            if (runs.subList(Math.max(0, runs.size() - recentRuns), runs.size()).contains(TestHistory.Outcome.FAIL)) {
+                failed.add(key);
+            }
+        });
+        return failed;
+    }
+}
@@ -0,0 +1,85 @@
+package listeners;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import org.openqa.selenium.DetachedShadowRootException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * Coarse cause of a test failure, read from the throwable and its causes. Decides whether a failure is
+ * worth an immediate retry ({@code retry.on}) and whether the browser session is still usable.
+ */
+public enum FailureClass {
+
+    // Declared in precedence order for of().
+    NETWORK,
+    STALE_ELEMENT,
+    TIMEOUT,
+    ASSERTION,
+    OTHER;
+
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    /**
+     * Highest-precedence class found along the cause chain: any sign of a lost browser or connection makes
+     * it a network failure, and a wait that timed out because its element went stale is a stale-element one.
+     */
+    public static FailureClass of(Throwable throwable) {
+        EnumSet<FailureClass> found = EnumSet.of(OTHER);
+        Throwable current = throwable;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            FailureClass candidate = classify(current);
+            if (candidate != null) {
+                found.add(candidate);
+            }
+            current = current.getCause();
+        }
+        return found.iterator().next();
+    }
+
+    /**
+     * Failures after which the browser session cannot be trusted and must not go back to the pool.
+     */
+    public boolean isInfrastructure() {
+        return this == NETWORK;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', ' ');
+    }
+
+    private static FailureClass classify(Throwable throwable) {
+        if (throwable instanceof StaleElementReferenceException || throwable instanceof DetachedShadowRootException) {
+            return STALE_ELEMENT;
+        }
+        if (throwable instanceof NoSuchSessionException || throwable instanceof SessionNotCreatedException
+                || throwable instanceof UnreachableBrowserException || throwable instanceof IOException) {
+            // IOException covers refused/reset connections and HTTP timeouts of HttpProbe requests.
+            return NETWORK;
+        }
+        if (throwable instanceof WebDriverException && isNetworkError(throwable.getMessage())) {
+            return NETWORK;
+        }
+        if (throwable instanceof TimeoutException || throwable instanceof ScriptTimeoutException
+                || throwable instanceof java.util.concurrent.TimeoutException) {
+            return TIMEOUT;
+        }
+        if (throwable instanceof AssertionError) {
+            return ASSERTION;
+        }
+        return null;
+    }
+
+    // Chromium/Firefox navigation errors surface as plain WebDriverExceptions.
+    private static boolean isNetworkError(String message) {
+        return message != null && (message.contains("net::ERR_") || message.contains("NS_ERROR_NET")
+                || message.contains("NS_ERROR_CONNECTION") || message.contains("NS_ERROR_UNKNOWN_HOST"));
+    }
+}
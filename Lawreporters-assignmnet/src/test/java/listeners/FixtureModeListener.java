@@ -0,0 +1,44 @@
+package listeners;
+
+import fixtures.FixtureServer;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import utils.ConfigManager;
+
+/**
+ * With {@code fixture.mode=true}, starts one {@link FixtureServer} per JVM before the first suite and points
+ * {@code base.url} and {@code api.base.url} at it (system properties win over config.properties).
+ */
+public class FixtureModeListener implements ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FixtureModeListener.class);
+
+    private static FixtureServer server;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!Boolean.parseBoolean(ConfigManager.get("fixture.mode", "false"))) {
+            return;
+        }
+        String baseUrl = startOnce();
+        System.setProperty("base.url", baseUrl);
+        System.setProperty("api.base.url", baseUrl);
+        LOG.info("Suite '{}' runs against fixture server {}", suite.getName(), baseUrl);
+    }
+
+    private static synchronized String startOnce() {
+        if (server == null) {
+            try {
+                server = FixtureServer.start(Integer.parseInt(ConfigManager.get("fixture.port", "0")));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to start fixture server", e);
+            }
+            FixtureServer started = server;
+            Runtime.getRuntime().addShutdownHook(new Thread(started::stop, "fixture-server-stop"));
+        }
+        return server.baseUrl();
+    }
+}
@@ -0,0 +1,127 @@
+package listeners;
+
+import base.BaseTest;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import utils.ConfigManager;
+
+/**
+ * Re-runs a failed invocation immediately, in the same suite run, when its {@link FailureClass} is listed in
+ * {@code retry.on} (timeouts, stale elements and lost connections by default; assertion failures are real
+ * results and are not retried). Each invocation gets at most {@code retry.max.attempts} retries and the
+ * whole suite at most {@code retry.suite.budget}, so a broken environment cannot double the run time.
+ * The retry goes through {@code @BeforeMethod} again: a pooled session, or a fresh one when the failed
+ * session was discarded. Installed on every test by {@link RetryTransformer}.
+ */
+public class FlakeRetryAnalyzer implements IRetryAnalyzer {
+
+    private static final int MAX_RETRIES = Integer.parseInt(ConfigManager.get("retry.max.attempts", "1"));
+    private static final int SUITE_BUDGET = Integer.parseInt(ConfigManager.get("retry.suite.budget", "5"));
+    private static final Set<FailureClass> RETRY_ON = failureClasses(
+            ConfigManager.get("retry.on", "timeout,stale_element,network"));
+
+    private static final AtomicInteger BUDGET_USED = new AtomicInteger();
+    // Attempts per invocation (suite <test> + method + parameters), in order.
+    private static final Map<String, List<String>> ATTEMPTS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> RETRIES = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean retry(ITestResult result) {
+        FailureClass failure = FailureClass.of(result.getThrowable());
+        AtomicInteger retries = RETRIES.computeIfAbsent(key(result), key -> new AtomicInteger());
+        String decision;
+        boolean retry = false;
+        if (!RETRY_ON.contains(failure)) {
+            decision = "not retried (" + failure.label() + " is not in retry.on)";
+        } else if (retries.get() >= MAX_RETRIES) {
+            decision = "not retried (" + MAX_RETRIES + " retries used)";
+        } else if (BUDGET_USED.getAndUpdate(used -> used < SUITE_BUDGET ? used + 1 : used) >= SUITE_BUDGET) {
+            decision = "not retried (suite retry budget of " + SUITE_BUDGET + " spent)";
+        } else {
+            retries.incrementAndGet();
+            retry = true;
+            decision = "retried";
+        }
+        addAttempt(result, "failed: " + failure.label() + ", " + decision + " - " + firstLine(result.getThrowable()));
+        return retry;
+    }
+
+    /**
+     * Earlier attempts of this invocation that were retried; 0 for a first attempt.
+     */
+    public static int retriesBefore(ITestResult result) {
+        AtomicInteger retries = RETRIES.get(key(result));
+        return retries == null ? 0 : retries.get();
+    }
+
+    /**
+     * Records how a retried invocation ended; invocations that were never retried are not listed.
+     */
+    public static void recordOutcome(ITestResult result) {
+        if (retriesBefore(result) == 0) {
+            return;
+        }
+        if (result.getStatus() == ITestResult.SUCCESS) {
+            addAttempt(result, "passed (flaky)");
+        }
+        // A final failure already recorded its attempt in retry().
+    }
+
+    public static String report() {
+        String nl = System.lineSeparator();
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Targeted retries: %d of %d suite budget used (retry.on=%s, max %d per test)%n",
+                BUDGET_USED.get(), SUITE_BUDGET, RETRY_ON, MAX_RETRIES));
+        Map<String, List<String>> sorted = new TreeMap<>(ATTEMPTS);
+        long flaky = sorted.values().stream().filter(attempts -> attempts.get(attempts.size() - 1).startsWith("passed"))
+                .count();
+        out.append("Passed on retry (flaky): ").append(flaky).append(nl);
+        sorted.forEach((key, attempts) -> {
+            out.append(nl).append(key).append(nl);
+            for (int i = 0; i < attempts.size(); i++) {
+                out.append("  attempt ").append(i + 1).append(": ").append(attempts.get(i)).append(nl);
+            }
+        });
+        return out.toString();
+    }
+
+    private static void addAttempt(ITestResult result, String line) {
+        List<String> attempts = ATTEMPTS.computeIfAbsent(key(result), key -> new ArrayList<>());
+        synchronized (attempts) {
+            attempts.add(line);
+        }
+    }
+
+    private static String key(ITestResult result) {
+        // Cross-browser suites run the same method in several <test> blocks; each counts on its own.
+        return BaseTest.invocationKey(result);
+    }
+
+    private static String firstLine(Throwable throwable) {
+        if (throwable == null) {
+            return "no exception";
+        }
+        String text = throwable.toString();
+        int newline = text.indexOf('\n');
+        return newline < 0 ? text : text.substring(0, newline);
+    }
+
+    private static Set<FailureClass> failureClasses(String configured) {
+        Set<FailureClass> classes = EnumSet.noneOf(FailureClass.class);
+        for (String name : configured.split(",")) {
+            if (!name.isBlank()) {
+                classes.add(FailureClass.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return classes;
+    }
+}
@@ -1,157 +1,290 @@
 package listeners;
 
+import base.BaseTest;
+import base.CommandTimings;
+import base.ResourceBlocker;
 import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import io.qameta.allure.Attachment;
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
 import java.time.Duration;
-import java.util.Date;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import pages.support.PageMetrics;
+import pages.support.Waits;
+import proxy.RecordReplayProxy;
 import reporting.ExtentReportManager;
+import reporting.ReportPaths;
+import reporting.ScreenshotService;
+import utils.LatencyHistogram;
 
-public class FrameworkTestListener implements ITestListener {
+public class FrameworkTestListener implements ITestListener, ISuiteListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(FrameworkTestListener.class);
-    private static final ThreadLocal<Long> START_TIME = new ThreadLocal<>();
+
+    // Suite-wide text reports in target/reports, by file name, written in this order when the suite finishes.
+    private static final Map<String, Supplier<String>> REPORTS = new LinkedHashMap<>();
+
+    static {
+        REPORTS.put("command-latency.txt", CommandTimings::report);
+        REPORTS.put("wait-stats.txt", Waits::report);
+        REPORTS.put("proxy-summary.txt", () -> {
+            RecordReplayProxy proxy = RecordReplayProxy.active();
+            return proxy == null ? null : proxy.summary();
+        });
+        REPORTS.put("resource-blocking.txt", ResourceBlocker::report);
+        REPORTS.put("retry-summary.txt", FlakeRetryAnalyzer::report);
+        REPORTS.put("perf-metrics.txt", PageMetrics::report);
+    }
 
     @Override
-    public void onStart(ITestContext context) {
-        ExtentReportManager.getInstance();
-        LOG.info("Starting suite: {}", context.getSuite().getName());
+    public void onStart(ISuite suite) {
+        ExtentReportManager.start();
+        LOG.info("Starting suite: {}", suite.getName());
     }
 
     @Override
     public void onTestStart(ITestResult result) {
-        START_TIME.set(System.currentTimeMillis());
         String testName = result.getMethod().getMethodName();
-        ExtentReportManager.startTest(testName);
-        ExtentReportManager.getTest().info("Test started");
+        ExtentReportManager.startTest(result);
         LOG.info("Test started: {}", testName);
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        long duration = testDurationMs();
-        ensureExtentTest(result).pass("Test passed in " + duration + " ms");
-        LOG.info("Test passed: {} ({} ms)", result.getMethod().getMethodName(), duration);
+        long duration = testDurationMs(result);
+        TestHistory.record(result, duration);
+        int retries = FlakeRetryAnalyzer.retriesBefore(result);
+        FlakeRetryAnalyzer.recordOutcome(result);
+        ExtentReportManager.log(result, test -> {
+            test.pass("Test passed in " + duration + " ms");
+            if (retries > 0) {
+                test.warning("Passed on attempt " + (retries + 1) + " (flaky)");
+            }
+        });
+        logSlowestCommands(result);
+        logBlockedResources(result);
+        logPageMetrics(result);
+        LOG.info("Test passed: {} ({} ms{})", result.getMethod().getMethodName(), duration,
+                retries > 0 ? ", attempt " + (retries + 1) : "");
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        long duration = testDurationMs();
-        WebDriver driver = extractDriver(result);
-        String screenshotPath = "";
+        long duration = testDurationMs(result);
+        TestHistory.record(result, duration);
+        FailureClass failure = FailureClass.of(result.getThrowable());
+        reportFailure(result, duration, failure, false);
+        LOG.error("Test failed: {} ({} ms, {})", result.getMethod().getMethodName(), duration, failure.label(),
+                result.getThrowable());
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        TestHistory.record(result, testDurationMs(result));
+        Throwable throwable = result.getThrowable();
+        if (result.wasRetried()) {
+            // A failed attempt that FlakeRetryAnalyzer re-runs; TestNG reports it as skipped.
+            FailureClass failure = FailureClass.of(throwable);
+            reportFailure(result, testDurationMs(result), failure, true);
+            LOG.warn("Test attempt failed, retrying: {} ({})", result.getMethod().getMethodName(), failure.label());
+            return;
+        }
+        ExtentReportManager.log(result, test -> test.skip("Test skipped: " + throwable));
+        LOG.warn("Test skipped: {}", result.getMethod().getMethodName());
+    }
 
+    private void reportFailure(ITestResult result, long duration, FailureClass failure, boolean retried) {
+        WebDriver driver = BaseTest.driverOf(result);
+        // One capture shared by Extent and Allure; encoding and the file write happen off this thread.
+        String screenshotPath = driver == null ? "" : ScreenshotService.capture(driver, result.getMethod().getMethodName());
         if (driver != null) {
-            screenshotPath = saveScreenshot(driver, result.getMethod().getMethodName());
-            attachAllureScreenshot(driver);
             attachAllureText("Failure URL", safeCurrentUrl(driver));
         }
 
         Throwable throwable = result.getThrowable();
         String errorMessage = throwable == null ? "Unknown failure" : throwable.toString();
+        String status = retried
+                ? "Attempt " + FlakeRetryAnalyzer.retriesBefore(result) + " failed (" + failure.label() + "), retrying: "
+                : "";
 
-        if (!screenshotPath.isBlank()) {
-            ensureExtentTest(result).fail(errorMessage,
-                    MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
-        } else {
-            ensureExtentTest(result).fail(errorMessage);
-        }
-
-        ensureExtentTest(result).info("Failed in " + duration + " ms");
-        attachAllureText("Failure Details", errorMessage);
-        LOG.error("Test failed: {} ({} ms)", result.getMethod().getMethodName(), duration, throwable);
+        ExtentReportManager.log(result, test -> {
+            String message = status + errorMessage;
+            if (!screenshotPath.isBlank()) {
+                if (retried) {
+                    test.skip(message, MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
+                } else {
+                    test.fail(message, MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
+                }
+            } else if (retried) {
+                test.skip(message);
+            } else {
+                test.fail(message);
+            }
+            test.info("Failed in " + duration + " ms; failure class: " + failure.label());
+        });
+        logSlowestCommands(result);
+        logBlockedResources(result);
+        logPageMetrics(result);
+        attachAllureText("Failure Details", status + errorMessage);
     }
 
     @Override
-    public void onTestSkipped(ITestResult result) {
-        ensureExtentTest(result).skip("Test skipped: " + result.getThrowable());
-        LOG.warn("Test skipped: {}", result.getMethod().getMethodName());
+    public void onFinish(ISuite suite) {
+        // Once per suite rather than per <test>: the reports cover the whole JVM, and some are costly to build.
+        ScreenshotService.awaitPending(30);
+        String summary = summary(suite);
+        writeReport("execution-summary.txt", () -> summary);
+        attachAllureText("Execution Summary", summary);
+        REPORTS.forEach(this::writeReport);
+        ExtentReportManager.flush();
+        LOG.info("Finished suite: {}", suite.getName());
     }
 
-    @Override
-    public void onFinish(ITestContext context) {
-        writeSummary(context);
-        ExtentReportManager.flush();
-        LOG.info("Finished suite: {}", context.getSuite().getName());
+    private long testDurationMs(ITestResult result) {
+        long end = result.getEndMillis() > 0 ? result.getEndMillis() : System.currentTimeMillis();
+        return result.getStartMillis() > 0 ? end - result.getStartMillis() : 0;
     }
 
-    private long testDurationMs() {
-        Long start = START_TIME.get();
-        return start == null ? 0 : (System.currentTimeMillis() - start);
+    private String summary(ISuite suite) {
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        int retried = 0;
+        long start = Long.MAX_VALUE;
+        long end = 0;
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext finished = suiteResult.getTestContext();
+            passed += finished.getPassedTests().size();
+            failed += finished.getFailedTests().size();
+            for (ITestResult skip : finished.getSkippedTests().getAllResults()) {
+                // Failed attempts that were re-run are not skips; their last attempt is counted instead.
+                if (skip.wasRetried()) {
+                    retried++;
+                } else {
+                    skipped++;
+                }
+            }
+            start = Math.min(start, finished.getStartDate().getTime());
+            end = Math.max(end, finished.getEndDate().getTime());
+        }
+        int total = passed + failed + skipped;
+
+        long durationMs = end > start ? end - start : 0;
+        return "Suite: " + suite.getName() + System.lineSeparator()
+                + "Total: " + total + System.lineSeparator()
+                + "Passed: " + passed + System.lineSeparator()
+                + "Failed: " + failed + System.lineSeparator()
+                + "Skipped: " + skipped + System.lineSeparator()
+                + "Retried: " + retried + System.lineSeparator()
+                + "Duration: " + Duration.ofMillis(durationMs) + System.lineSeparator();
     }
 
-    private com.aventstack.extentreports.ExtentTest ensureExtentTest(ITestResult result) {
-        if (ExtentReportManager.getTest() == null) {
-            ExtentReportManager.startTest(result.getMethod().getMethodName());
+    /**
+     * Writes one report into the report directory; a null body (e.g. no proxy running) writes nothing.
+     */
+    private void writeReport(String fileName, Supplier<String> body) {
+        try {
+            String content = body.get();
+            if (content == null) {
+                return;
+            }
+            Path reportDir = ReportPaths.dir();
+            Files.createDirectories(reportDir);
+            Files.write(reportDir.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            // One broken report must not cost the others.
+            LOG.warn("Unable to write {}", fileName, e);
         }
-        return ExtentReportManager.getTest();
     }
 
-    private WebDriver extractDriver(ITestResult result) {
-        Object instance = result.getInstance();
-        if (instance == null) {
-            return null;
+    private void logSlowestCommands(ITestResult result) {
+        CommandTimings.TestTimings timings = CommandTimings.forTest(BaseTest.invocationKey(result));
+        if (timings == null || timings.getHistogram().getCount() == 0) {
+            return;
         }
-        try {
-            Field field = instance.getClass().getSuperclass().getDeclaredField("driver");
-            field.setAccessible(true);
-            return (WebDriver) field.get(instance);
-        } catch (Exception e) {
-            return null;
+        LatencyHistogram histogram = timings.getHistogram();
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"ms", "command", "locator", "caller"});
+        for (CommandTimings.Sample sample : timings.getSlowest()) {
+            rows.add(new String[] {
+                    String.format(Locale.ROOT, "%.1f", sample.getMillis()),
+                    sample.getCommand(),
+                    sample.getLocator() == null ? "" : sample.getLocator(),
+                    sample.getCaller()});
         }
+        String percentiles = String.format(Locale.ROOT,
+                "%d WebDriver commands: p50 %.1f ms, p95 %.1f ms, p99 %.1f ms",
+                histogram.getCount(),
+                histogram.valueAtPercentile(50) / 1_000_000.0,
+                histogram.valueAtPercentile(95) / 1_000_000.0,
+                histogram.valueAtPercentile(99) / 1_000_000.0);
+        String[][] table = rows.toArray(new String[0][]);
+        ExtentReportManager.log(result, test -> {
+            test.info(percentiles);
+            test.info(MarkupHelper.createTable(table));
+        });
     }
 
-    private String saveScreenshot(WebDriver driver, String testName) {
-        try {
-            Path screenshotDir = Paths.get("target", "reports", "screenshots");
-            Files.createDirectories(screenshotDir);
-
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            Path screenshotPath = screenshotDir.resolve(testName + "_" + timestamp + ".png");
-            byte[] bytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-            Files.write(screenshotPath, bytes);
-            return screenshotPath.toString();
-        } catch (Exception e) {
-            LOG.warn("Unable to save screenshot for {}", testName, e);
-            return "";
+    private void logBlockedResources(ITestResult result) {
+        ResourceBlocker.TestBlocking blocking = ResourceBlocker.forTest(BaseTest.invocationKey(result));
+        if (blocking == null || blocking.getCount() == 0) {
+            return;
         }
+        String message = "Blocked " + blocking.getCount() + " third-party/heavy requests: " + blocking.getByHost();
+        ExtentReportManager.log(result, test -> test.info(message));
     }
 
-    private void writeSummary(ITestContext context) {
-        try {
-            int passed = context.getPassedTests().size();
-            int failed = context.getFailedTests().size();
-            int skipped = context.getSkippedTests().size();
-            int total = passed + failed + skipped;
-
-            long durationMs = context.getEndDate().getTime() - context.getStartDate().getTime();
-            String summary = "Suite: " + context.getSuite().getName() + System.lineSeparator()
-                    + "Total: " + total + System.lineSeparator()
-                    + "Passed: " + passed + System.lineSeparator()
-                    + "Failed: " + failed + System.lineSeparator()
-                    + "Skipped: " + skipped + System.lineSeparator()
-                    + "Duration: " + Duration.ofMillis(durationMs) + System.lineSeparator();
-
-            Path reportDir = Paths.get("target", "reports");
-            Files.createDirectories(reportDir);
-            Files.write(reportDir.resolve("execution-summary.txt"), summary.getBytes(StandardCharsets.UTF_8));
-            attachAllureText("Execution Summary", summary);
-        } catch (IOException e) {
-            LOG.warn("Unable to write execution summary", e);
+    private void logPageMetrics(ITestResult result) {
+        List<PageMetrics.Sample> samples = PageMetrics.forTest(BaseTest.invocationKey(result));
+        if (samples.isEmpty()) {
+            return;
         }
+        PageMetrics.Metric[] metrics = PageMetrics.Metric.values();
+        List<String[]> rows = new ArrayList<>();
+        String[] header = new String[metrics.length + 1];
+        header[0] = "page";
+        for (int i = 0; i < metrics.length; i++) {
+            header[i + 1] = metrics[i].label();
+        }
+        rows.add(header);
+        StringBuilder text = new StringBuilder();
+        List<String> violations = new ArrayList<>();
+        for (PageMetrics.Sample sample : samples) {
+            String[] row = new String[metrics.length + 1];
+            row[0] = sample.getPage() + (sample.isResourcesBlocked() ? " (blocked)" : "")
+                    + (sample.isSettled() ? "" : " (not settled)");
+            for (int i = 0; i < metrics.length; i++) {
+                Double value = sample.get(metrics[i]);
+                row[i + 1] = value == null ? "-" : metrics[i].format(value);
+            }
+            rows.add(row);
+            text.append(sample).append("  ").append(sample.getUrl()).append(System.lineSeparator());
+            violations.addAll(sample.getViolations());
+        }
+        String[][] table = rows.toArray(new String[0][]);
+        ExtentReportManager.log(result, test -> {
+            test.info(MarkupHelper.createTable(table));
+            violations.forEach(violation -> test.warning("Budget: " + violation));
+        });
+        violations.forEach(violation -> text.append("Budget: ").append(violation).append(System.lineSeparator()));
+        attachAllureText("Page Metrics", text.toString());
     }
 
     private String safeCurrentUrl(WebDriver driver) {
@@ -162,11 +295,6 @@ public class FrameworkTestListener implements ITestListener {
         }
     }
 
-    @Attachment(value = "Failure Screenshot", type = "image/png")
-    public byte[] attachAllureScreenshot(WebDriver driver) {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-    }
-
     @Attachment(value = "{name}", type = "text/plain")
     public String attachAllureText(String name, String value) {
         return value;
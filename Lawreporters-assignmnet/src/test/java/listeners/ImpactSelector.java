@@ -0,0 +1,227 @@
+package listeners;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+import reporting.ReportPaths;
+import utils.ConfigManager;
+
+/**
+ * Pre-merge test selection. With {@code select.changed.since=<git ref>} only test classes that reach a
+ * changed class (directly or through page objects, components and helpers, found by
+ * {@link ClassDependencies}) run; a change that cannot be mapped to classes (suite XML, pom, config,
+ * fixtures) keeps the full suite. Registered before {@link ShardSelector}, so shards are balanced over the
+ * selected methods only; {@link FailedFirstScheduler} orders what is left. The decision is written to
+ * {@code test-selection.txt}.
+ */
+public class ImpactSelector implements IMethodInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImpactSelector.class);
+
+    private static final List<String> SOURCE_ROOTS = List.of("src/main/java/", "src/test/java/");
+    // Changes that cannot affect a test run; everything else unmappable means "run everything".
+    private static final List<String> IGNORED_PREFIXES = List.of("src/benchmark/", "scripts/", ".gitignore",
+            "test-history.log");
+
+    private final String changedSince = ConfigManager.get("select.changed.since", "").trim();
+
+    // Test classes to run; null means the whole suite. Computed once per JVM, for every <test> block.
+    private Set<String> affected;
+    private boolean resolved;
+
+    @Override
+    public synchronized List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Set<String> classes = affectedTestClasses();
+        if (classes == null) {
+            return methods;
+        }
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (classes.contains(ClassDependencies.topLevel(method.getMethod().getRealClass().getName()))) {
+                selected.add(method);
+            }
+        }
+        LOG.info("Impact selection for '{}': {} of {} methods", context.getName(), selected.size(), methods.size());
+        return selected;
+    }
+
+    private Set<String> affectedTestClasses() {
+        if (resolved) {
+            return affected;
+        }
+        resolved = true;
+        if (changedSince.isEmpty()) {
+            return null;
+        }
+        StringBuilder report = new StringBuilder();
+        String nl = System.lineSeparator();
+        try {
+            List<String> changedFiles = changedFiles();
+            ClassDependencies dependencies = ClassDependencies.scan(List.of(
+                    codeSource(ImpactSelector.class), codeSource(ConfigManager.class)));
+
+            Set<String> changedClasses = new TreeSet<>();
+            List<String> unmapped = new ArrayList<>();
+            for (String file : changedFiles) {
+                String className = className(file);
+                if (className != null) {
+                    changedClasses.add(className);
+                } else if (!file.endsWith(".md") && IGNORED_PREFIXES.stream().noneMatch(file::startsWith)) {
+                    unmapped.add(file);
+                }
+            }
+
+            report.append("Changed since ").append(changedSince).append(": ").append(changedFiles.size())
+                    .append(" files").append(nl);
+            changedFiles.forEach(file -> report.append("  ").append(file).append(nl));
+            Map<String, Set<String>> reasons = new TreeMap<>();
+            Map<String, Set<String>> pagesUsed = new TreeMap<>();
+            for (String testClass : testClasses(dependencies)) {
+                Set<String> reachable = dependencies.transitiveDependencies(testClass);
+                Set<String> pages = new TreeSet<>();
+                reachable.stream().filter(name -> name.startsWith("pages.")).forEach(pages::add);
+                pagesUsed.put(testClass, pages);
+                Set<String> hits = new TreeSet<>();
+                for (String changed : changedClasses) {
+                    if (changed.equals(testClass) || reachable.contains(changed)) {
+                        hits.add(changed);
+                    }
+                }
+                if (!hits.isEmpty()) {
+                    reasons.put(testClass, hits);
+                }
+            }
+
+            if (!unmapped.isEmpty()) {
+                report.append(nl).append("Running the full suite: changes not mappable to classes: ").append(unmapped)
+                        .append(nl);
+                LOG.info("Impact selection off: unmappable changes {}", unmapped);
+            } else {
+                affected = new HashSet<>(reasons.keySet());
+                report.append(nl).append("Selected ").append(affected.size()).append(" test classes:").append(nl);
+                reasons.forEach((test, hits) -> report.append("  ").append(test).append(" <- ").append(hits).append(nl));
+                LOG.info("Impact selection: {} test classes affected by {} changed classes", affected.size(),
+                        changedClasses.size());
+            }
+            report.append(nl).append("Page objects used per test class:").append(nl);
+            pagesUsed.forEach((test, pages) -> report.append("  ").append(test).append(": ").append(pages).append(nl));
+        } catch (IOException | RuntimeException e) {
+            // Selection is an optimization; when it cannot be computed, run everything.
+            affected = null;
+            report.append("Running the full suite: ").append(e).append(nl);
+            LOG.warn("Impact selection failed, running the full suite", e);
+        }
+        writeReport(report.toString());
+        return affected;
+    }
+
+    /**
+     * Files changed between the ref and the working tree (committed, staged and unstaged), plus untracked
+     * files, relative to the project directory.
+     */
+    private List<String> changedFiles() throws IOException {
+        Set<String> files = new TreeSet<>(git("diff", "--name-only", "--relative", changedSince));
+        files.addAll(git("ls-files", "--others", "--exclude-standard"));
+        return new ArrayList<>(files);
+    }
+
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output;
+        try (InputStream inputStream = process.getInputStream()) {
+            output = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IOException("git " + String.join(" ", args) + " failed: " + output.trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted running git", e);
+        }
+        List<String> lines = new ArrayList<>();
+        for (String line : output.split("\\R")) {
+            if (!line.isBlank()) {
+                lines.add(line.trim());
+            }
+        }
+        return lines;
+    }
+
+    private static String className(String file) {
+        for (String root : SOURCE_ROOTS) {
+            if (file.startsWith(root) && file.endsWith(".java")) {
+                return file.substring(root.length(), file.length() - ".java".length()).replace('/', '.');
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> testClasses(ClassDependencies dependencies) throws IOException {
+        Set<String> tests = new TreeSet<>();
+        Path testRoot = codeSource(ImpactSelector.class);
+        for (String name : dependencies.classes()) {
+            if (Files.isRegularFile(testRoot.resolve(name.replace('.', '/') + ".class")) && declaresTests(name)) {
+                tests.add(name);
+            }
+        }
+        return tests;
+    }
+
+    private static boolean declaresTests(String className) {
+        try {
+            // Not initialized: loading must not start drivers or read config as a side effect.
+            Class<?> type = Class.forName(className, false, ImpactSelector.class.getClassLoader());
+            if (type.isAnnotationPresent(Test.class)) {
+                return true;
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Test.class)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Path codeSource(Class<?> type) throws IOException {
+        try {
+            return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Cannot locate compiled classes of " + type.getName(), e);
+        }
+    }
+
+    private static void writeReport(String report) {
+        try {
+            Files.createDirectories(ReportPaths.dir());
+            Files.write(ReportPaths.resolve("test-selection.txt"), report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Unable to write test selection report", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package listeners;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import utils.ConfigManager;
+
+/**
+ * Starts the longest methods first (estimates from {@link TestHistory}), so the slow responsive and
+ * contact-form checks overlap with the short ones instead of running alone at the end while every other
+ * worker is idle. TestNG hands methods to the parallel workers in interceptor order, ahead of
+ * {@code priority}; methods without history get the median estimate. {@code schedule.longest.first=false}
+ * keeps the suite's own order.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LongestFirstScheduler.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!Boolean.parseBoolean(ConfigManager.get("schedule.longest.first", "true")) || methods.size() < 2) {
+            return methods;
+        }
+        Map<String, Long> estimates = TestHistory.estimatedDurations();
+        if (estimates.isEmpty()) {
+            return methods;
+        }
+        long unknown = TestHistory.defaultEstimate(estimates);
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // Stable sort: equal estimates keep the suite's order (and with it the priorities).
+        ordered.sort(Comparator.comparingLong(
+                (IMethodInstance method) -> estimates.getOrDefault(TestHistory.key(method.getMethod()), unknown))
+                .reversed());
+        LOG.info("Scheduling {} methods of '{}' longest first; first up: {}", ordered.size(), context.getName(),
+                TestHistory.key(ordered.get(0).getMethod()));
+        return ordered;
+    }
+}
@@ -0,0 +1,64 @@
+package listeners;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import utils.ConfigManager;
+
+/**
+ * Applies parallel mode and thread count from config before the suite starts.
+ * "auto" derives the thread count from available cores and free physical memory per browser.
+ * Method threads and parallel data-provider threads share that budget, since both hold browser sessions.
+ */
+public class ParallelExecutionConfigurer implements IAlterSuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelExecutionConfigurer.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        for (XmlSuite suite : suites) {
+            XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(
+                    ConfigManager.get("parallel.mode", suite.getParallel().toString()));
+            suite.setParallel(mode);
+            if (mode == XmlSuite.ParallelMode.NONE) {
+                LOG.info("Suite '{}' runs sequentially", suite.getName());
+                continue;
+            }
+
+            int budget = resolveThreadCount();
+            // Rows of a parallel data provider run on their own pool while the method thread that started them
+            // waits without a session, so splitting the budget keeps both pools within driver.pool.max.size.
+            int dataProviderThreads = Math.max(1, budget / 2);
+            int threadCount = Math.max(1, budget - dataProviderThreads);
+            suite.setThreadCount(threadCount);
+            suite.setDataProviderThreadCount(dataProviderThreads);
+            LOG.info("Suite '{}' runs parallel={} with {} method threads and {} data-provider threads",
+                    suite.getName(), mode, threadCount, dataProviderThreads);
+        }
+    }
+
+    private int resolveThreadCount() {
+        String configured = ConfigManager.get("parallel.thread.count", "auto");
+        if (!"auto".equalsIgnoreCase(configured)) {
+            return Math.max(1, Integer.parseInt(configured));
+        }
+
+        int cpuBound = Runtime.getRuntime().availableProcessors();
+        long browserMemoryMb = Long.parseLong(ConfigManager.get("parallel.browser.memory.mb", "700"));
+        int memoryBound = (int) Math.max(1, freePhysicalMemoryMb() / browserMemoryMb);
+        // More threads than pooled sessions would only wait in DriverPool.acquire for a released session.
+        int poolBound = Integer.parseInt(ConfigManager.get("driver.pool.max.size", "4"));
+        return Math.max(1, Math.min(cpuBound, Math.min(memoryBound, poolBound)));
+    }
+
+    private long freePhysicalMemoryMb() {
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize() / (1024 * 1024);
+        }
+        return Runtime.getRuntime().maxMemory() / (1024 * 1024);
+    }
+}
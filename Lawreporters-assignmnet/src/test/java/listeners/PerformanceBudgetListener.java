@@ -0,0 +1,31 @@
+package listeners;
+
+import base.BaseTest;
+import java.util.List;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import pages.support.PageMetrics;
+import utils.ConfigManager;
+
+/**
+ * Fails a test whose body passed but whose pages broke their {@link PageMetrics} budgets, after the body
+ * and before the result reaches the reporting listeners ({@code perf.budget.enforced=false} only reports).
+ * A budget failure is an assertion failure, so it is never retried.
+ */
+public class PerformanceBudgetListener implements IInvokedMethodListener {
+
+    private static final boolean ENFORCED = Boolean.parseBoolean(ConfigManager.get("perf.budget.enforced", "true"));
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!ENFORCED || !method.isTestMethod() || result.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+        List<String> violations = PageMetrics.budgetViolations(BaseTest.invocationKey(result));
+        if (!violations.isEmpty()) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Performance budget exceeded: " + String.join("; ", violations)));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package listeners;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+import utils.ConfigManager;
+
+/**
+ * Puts {@link FlakeRetryAnalyzer} on every {@code @Test} that has no retry analyzer of its own
+ * ({@code retry.enabled=false} leaves the annotations untouched).
+ */
+public class RetryTransformer implements IAnnotationTransformer {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(ConfigManager.get("retry.enabled", "true"));
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        Class<?> current = annotation.getRetryAnalyzerClass();
+        if (ENABLED && (current == null || current == DisabledRetryAnalyzer.class)) {
+            annotation.setRetryAnalyzer(FlakeRetryAnalyzer.class);
+        }
+    }
+}
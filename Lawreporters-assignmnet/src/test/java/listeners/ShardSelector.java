@@ -0,0 +1,115 @@
+package listeners;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import utils.ConfigManager;
+
+/**
+ * Runs one shard of the suite when {@code -Dshard=i/N} is set (1-based). Methods are assigned longest
+ * first to the currently lightest shard using {@link TestHistory}; the plan only depends on the suite
+ * XML and the history file, so every fork or agent computes the same split independently and together
+ * they run each method exactly once. Without {@code shard} the suite runs unchanged.
+ */
+public class ShardSelector implements IMethodInterceptor, ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardSelector.class);
+
+    private final int shardIndex;
+    private final int shardCount;
+    private Map<String, Long> history;
+    private long defaultMillis;
+    // Planned load per shard, carried across the suite's <test> blocks so the split is balanced suite-wide.
+    private long[] loads;
+
+    public ShardSelector() {
+        String shard = ConfigManager.get("shard", "");
+        if (shard.isBlank()) {
+            shardIndex = 0;
+            shardCount = 0;
+            return;
+        }
+        String[] parts = shard.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("shard must look like i/N, got: " + shard);
+        }
+        shardIndex = Integer.parseInt(parts[0].trim());
+        shardCount = Integer.parseInt(parts[1].trim());
+        if (shardCount < 1 || shardIndex < 1 || shardIndex > shardCount) {
+            throw new IllegalArgumentException("shard index must be between 1 and N, got: " + shard);
+        }
+    }
+
+    @Override
+    public synchronized List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (shardCount == 0) {
+            return methods;
+        }
+        if (loads == null) {
+            history = TestHistory.estimatedDurations();
+            defaultMillis = TestHistory.defaultEstimate(history);
+            loads = new long[shardCount];
+        }
+
+        Map<String, Long> weights = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            String key = TestHistory.key(method.getMethod());
+            weights.put(key, history.getOrDefault(key, defaultMillis));
+        }
+        List<String> longestFirst = new ArrayList<>(weights.keySet());
+        longestFirst.sort(Comparator.comparing((String key) -> weights.get(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        Set<String> mine = new HashSet<>();
+        long plannedMillis = 0;
+        for (String key : longestFirst) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += weights.get(key);
+            if (lightest == shardIndex - 1) {
+                mine.add(key);
+                plannedMillis += weights.get(key);
+            }
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (mine.contains(TestHistory.key(method.getMethod()))) {
+                selected.add(method);
+            }
+        }
+        LOG.info("Shard {}/{} of '{}': {} of {} methods, ~{} s by history",
+                shardIndex, shardCount, context.getName(), mine.size(), weights.size(),
+                TimeUnit.MILLISECONDS.toSeconds(plannedMillis));
+        return selected;
+    }
+
+    /**
+     * True when this JVM runs one shard: its entries reach the history log through the merge step once all
+     * shards are done, rather than from {@link TestHistoryListener} at the end of the suite.
+     */
+    public static boolean defersHistoryToMerge() {
+        return !ConfigManager.get("shard", "").isBlank();
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        loads = null;
+    }
+}
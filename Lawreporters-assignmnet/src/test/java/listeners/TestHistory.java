@@ -0,0 +1,300 @@
+package listeners;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import utils.ConfigManager;
+
+/**
+ * Per-method durations and outcomes across runs, kept in an append-only log ({@code test.history.file}).
+ * Each run appends one tab-separated line per test method; once the log holds more than twice
+ * {@code test.history.keep.runs} lines per method it is compacted to the newest entries per method,
+ * dropping methods not seen for {@code test.history.max.age.days}. Used by {@link ShardSelector} to
+ * balance shards and by {@link LongestFirstScheduler} to order the parallel workers; written by
+ * {@link TestHistoryListener} at the end of each suite.
+ */
+public final class TestHistory {
+
+    /**
+     * Name of the file with this run's entries that each JVM leaves in its report directory for the shard merge.
+     */
+    public static final String OBSERVED_FILE = "test-history.log";
+
+    private static final Path LOG = Paths.get(ConfigManager.get("test.history.file", "test-history.log"));
+    private static final int KEEP_RUNS = Integer.parseInt(ConfigManager.get("test.history.keep.runs", "20"));
+    private static final long MAX_AGE_MS =
+            Duration.ofDays(Long.parseLong(ConfigManager.get("test.history.max.age.days", "90"))).toMillis();
+    private static final String HEADER = "# timestamp\toutcome\tms\tinvocations\ttest";
+
+    private static final Map<String, Run> OBSERVED = new ConcurrentHashMap<>();
+    private static volatile Map<String, Long> estimates;
+
+    private TestHistory() {
+    }
+
+    public static String key(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    /**
+     * Adds one invocation (a data-provider row, a retry) to the current run's entry for its method. A
+     * retried attempt makes the method flaky unless another invocation failed or was skipped outright.
+     */
+    public static void record(ITestResult result, long millis) {
+        Outcome outcome = result.wasRetried() ? Outcome.FLAKY
+                : result.getStatus() == ITestResult.SUCCESS ? Outcome.PASS
+                : result.getStatus() == ITestResult.FAILURE ? Outcome.FAIL : Outcome.SKIP;
+        OBSERVED.computeIfAbsent(key(result.getMethod()), key -> new Run()).add(outcome, millis);
+    }
+
+    /**
+     * The current run's entries, one per method.
+     */
+    public static List<Entry> observed() {
+        long now = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>();
+        new TreeMap<>(OBSERVED).forEach((key, run) -> entries.add(run.toEntry(now, key)));
+        return entries;
+    }
+
+    /**
+     * Forgets the current run's entries once they are persisted, so a later suite in the same JVM does not
+     * record them again.
+     */
+    public static void clearObserved() {
+        OBSERVED.clear();
+    }
+
+    public static void writeObserved(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        write(directory.resolve(OBSERVED_FILE), observed());
+    }
+
+    /**
+     * Entries of the history log, oldest first.
+     */
+    public static List<Entry> history() {
+        return read(LOG);
+    }
+
+    /**
+     * Expected duration per method: the median of its recent non-skipped runs. Read once per JVM.
+     */
+    public static Map<String, Long> estimatedDurations() {
+        Map<String, Long> current = estimates;
+        if (current == null) {
+            Map<String, List<Long>> durations = new TreeMap<>();
+            for (Entry entry : read(LOG)) {
+                if (entry.getOutcome() != Outcome.SKIP) {
+                    durations.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(entry.getMillis());
+                }
+            }
+            Map<String, Long> computed = new TreeMap<>();
+            durations.forEach((key, values) -> computed.put(key, median(values)));
+            current = computed;
+            estimates = current;
+        }
+        return current;
+    }
+
+    /**
+     * Weight for a method without history; the median method keeps new tests from all landing on one worker.
+     */
+    public static long defaultEstimate(Map<String, Long> known) {
+        return known.isEmpty() ? 1 : median(known.values());
+    }
+
+    /**
+     * Entries of a history log, oldest first; comment and malformed lines are skipped.
+     */
+    public static List<Entry> read(Path file) {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isRegularFile(file)) {
+            return entries;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                Entry entry = Entry.parse(line);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            // Unreadable history only costs scheduling quality; every method then gets the default weight.
+        }
+        return entries;
+    }
+
+    /**
+     * Appends entries to the history log and compacts it when it has grown past its bound. A lock file
+     * serializes writers across JVMs (local shard merges, parallel agents on a shared volume).
+     */
+    public static synchronized void append(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Path directory = LOG.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path lockFile = directory.resolve(LOG.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            boolean created = !Files.exists(LOG);
+            try (BufferedWriter writer = Files.newBufferedWriter(LOG, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (created) {
+                    writer.write(HEADER);
+                    writer.newLine();
+                }
+                for (Entry entry : entries) {
+                    writer.write(entry.toLine());
+                    writer.newLine();
+                }
+            }
+            List<Entry> all = read(LOG);
+            long methods = all.stream().map(Entry::getKey).distinct().count();
+            if (all.size() > methods * KEEP_RUNS * 2) {
+                write(LOG, compact(all));
+            }
+        }
+        estimates = null;
+    }
+
+    private static List<Entry> compact(List<Entry> entries) {
+        long cutoff = System.currentTimeMillis() - MAX_AGE_MS;
+        Map<String, Deque<Entry>> newest = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            Deque<Entry> kept = newest.computeIfAbsent(entry.getKey(), key -> new ArrayDeque<>());
+            kept.addLast(entry);
+            if (kept.size() > KEEP_RUNS) {
+                kept.removeFirst();
+            }
+        }
+        List<Entry> compacted = new ArrayList<>();
+        newest.values().stream()
+                // A method whose last run is older than the cutoff was most likely renamed or deleted.
+                .filter(kept -> kept.getLast().getTimestamp() >= cutoff)
+                .forEach(compacted::addAll);
+        compacted.sort((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+        return compacted;
+    }
+
+    private static void write(Path file, List<Entry> entries) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        StringBuilder out = new StringBuilder(HEADER).append(System.lineSeparator());
+        entries.forEach(entry -> out.append(entry.toLine()).append(System.lineSeparator()));
+        // Write-then-move so a concurrent reader (another fork, the merge step) never sees half a file.
+        Path temp = Files.createTempFile(directory, "test-history", ".tmp");
+        Files.write(temp, out.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long median(Collection<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(Long::compare);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    public enum Outcome {
+        // Declared in increasing severity: a method's run outcome is its worst invocation.
+        // FLAKY: passed, but only after a failed attempt was retried.
+        PASS, FLAKY, SKIP, FAIL
+    }
+
+    /**
+     * One method's result in one run: summed duration of its invocations and the worst outcome.
+     */
+    public static final class Entry {
+
+        private final long timestamp;
+        private final Outcome outcome;
+        private final long millis;
+        private final int invocations;
+        private final String key;
+
+        public Entry(long timestamp, Outcome outcome, long millis, int invocations, String key) {
+            this.timestamp = timestamp;
+            this.outcome = outcome;
+            this.millis = millis;
+            this.invocations = invocations;
+            this.key = key;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public int getInvocations() {
+            return invocations;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        private String toLine() {
+            return timestamp + "\t" + outcome + "\t" + millis + "\t" + invocations + "\t" + key;
+        }
+
+        private static Entry parse(String line) {
+            if (line.isBlank() || line.startsWith("#")) {
+                return null;
+            }
+            String[] fields = line.split("\t", 5);
+            if (fields.length != 5) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(fields[0]), Outcome.valueOf(fields[1]), Long.parseLong(fields[2]),
+                        Integer.parseInt(fields[3]), fields[4]);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class Run {
+
+        private long millis;
+        private int invocations;
+        private Outcome outcome = Outcome.PASS;
+
+        private synchronized void add(Outcome result, long duration) {
+            millis += duration;
+            invocations++;
+            if (result.compareTo(outcome) > 0) {
+                outcome = result;
+            }
+        }
+
+        private synchronized Entry toEntry(long timestamp, String key) {
+            return new Entry(timestamp, outcome, millis, invocations, key);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package listeners;
+
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import reporting.ReportPaths;
+
+/**
+ * Persists the {@link TestHistory} entries recorded during the suite: this run's file in the report
+ * directory for the shard merge, and the history log itself unless {@link ShardSelector} defers it to
+ * that merge. Register it in every suite whose durations should feed sharding and scheduling.
+ */
+public class TestHistoryListener implements ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestHistoryListener.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            TestHistory.writeObserved(ReportPaths.dir());
+            if (!ShardSelector.defersHistoryToMerge()) {
+                TestHistory.append(TestHistory.observed());
+            }
+            TestHistory.clearObserved();
+        } catch (IOException e) {
+            LOG.warn("Unable to record test durations", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package pages.components;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConsentStateStoreTest {
+
+    @Test(description = "A failing consent learn never fails setup and is not retried by later tests")
+    public void learnFailureIsSwallowedAndCached() {
+        AtomicInteger pageLoads = new AtomicInteger();
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class}, (proxy, method, args) -> {
+                    if ("get".equals(method.getName())) {
+                        pageLoads.incrementAndGet();
+                        throw new TimeoutException("page load timed out");
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        String baseUrl = "http://consent-learn-failure.invalid/";
+
+        ConsentStateStore.seed(driver, baseUrl);
+        ConsentStateStore.seed(driver, baseUrl);
+
+        Assert.assertEquals(pageLoads.get(), 1, "The failed learn should be cached as empty consent");
+    }
+
+    @Test(description = "Learning one site's consent does not hold up seeding for another site")
+    public void learnsForDifferentSitesDoNotWaitOnEachOther() throws Exception {
+        CountDownLatch slowSiteLoading = new CountDownLatch(1);
+        CountDownLatch otherSiteLoaded = new CountDownLatch(1);
+        AtomicBoolean otherSiteLoadedFirst = new AtomicBoolean();
+        String slowSite = "http://consent-slow-site.invalid/";
+        String otherSite = "http://consent-other-site.invalid/";
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class}, (proxy, method, args) -> {
+                    if ("get".equals(method.getName())) {
+                        if (slowSite.equals(args[0])) {
+                            // Stays inside the slow site's learn until the other site has loaded.
+                            slowSiteLoading.countDown();
+                            otherSiteLoadedFirst.set(otherSiteLoaded.await(5, TimeUnit.SECONDS));
+                            throw new TimeoutException("page load timed out");
+                        }
+                        otherSiteLoaded.countDown();
+                        throw new TimeoutException("page load timed out");
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> ConsentStateStore.seed(driver, slowSite));
+        Assert.assertTrue(slowSiteLoading.await(5, TimeUnit.SECONDS));
+        ConsentStateStore.seed(driver, otherSite);
+        slow.get(10, TimeUnit.SECONDS);
+
+        Assert.assertTrue(otherSiteLoadedFirst.get(), "The other site's learn waited for the slow site's");
+    }
+}
@@ -0,0 +1,109 @@
+package proxy;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class RecordReplayProxyTest {
+
+    private final AtomicInteger upstreamHits = new AtomicInteger();
+    private final AtomicReference<String> pageBody = new AtomicReference<>("recorded page");
+    private HttpServer server;
+    private String origin;
+    private Path archiveDir;
+    private RecordReplayProxy replay;
+
+    @BeforeClass
+    public void recordArchive() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", exchange -> {
+            try (exchange) {
+                upstreamHits.incrementAndGet();
+                byte[] body = pageBody.get().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/plain");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        server.start();
+        origin = "http://127.0.0.1:" + server.getAddress().getPort();
+        archiveDir = Files.createTempDirectory("replay-archive");
+
+        RecordReplayProxy record = RecordReplayProxy.start(RecordReplayProxy.Mode.RECORD, archiveDir, 0);
+        try {
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(get(record, origin + "/page?v=1").body(), "recorded page");
+            }
+        } finally {
+            record.stop();
+        }
+        // Replay must never reach the live site: anything it serves from here on comes from the archive.
+        pageBody.set("live page");
+        upstreamHits.set(0);
+        replay = RecordReplayProxy.start(RecordReplayProxy.Mode.REPLAY, archiveDir, 0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServers() {
+        if (replay != null) {
+            replay.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test(description = "A recorded exchange is replayed from the archive without contacting the upstream")
+    public void replaysRecordedResponse() throws Exception {
+        HttpResponse<String> response = get(replay, origin + "/page?v=1");
+
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertEquals(response.body(), "recorded page");
+        Assert.assertEquals(response.headers().firstValue("Content-Type").orElse(""), "text/plain");
+        Assert.assertEquals(upstreamHits.get(), 0);
+    }
+
+    @Test(description = "A cache-busting query string falls back to the recording of the same path")
+    public void fallsBackToRecordingWithoutQuery() throws Exception {
+        HttpResponse<String> response = get(replay, origin + "/page?v=2");
+
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertEquals(response.body(), "recorded page");
+    }
+
+    @Test(description = "A request missing from the archive is answered 404 and marked as a miss")
+    public void missIsNotFound() throws Exception {
+        HttpResponse<String> response = get(replay, origin + "/never-recorded");
+
+        Assert.assertEquals(response.statusCode(), 404);
+        Assert.assertEquals(response.headers().firstValue("X-Replay-Miss").orElse(""), "1");
+        Assert.assertEquals(upstreamHits.get(), 0);
+    }
+
+    @Test(description = "Fetching the same URL repeatedly while recording keeps one index entry")
+    public void indexKeepsOneEntryPerRequest() throws IOException {
+        String index = Files.readString(archiveDir.resolve("archive.har.json"));
+
+        Assert.assertEquals(index.split("\"url\"", -1).length - 1, 1, index);
+    }
+
+    private static HttpResponse<String> get(RecordReplayProxy proxy, String url) throws Exception {
+        String[] address = proxy.address().split(":");
+        HttpClient client = HttpClient.newBuilder()
+                .proxy(ProxySelector.of(new InetSocketAddress(address[0], Integer.parseInt(address[1]))))
+                .build();
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
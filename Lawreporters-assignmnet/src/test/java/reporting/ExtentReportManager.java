@@ -3,50 +3,225 @@ package reporting;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import utils.ConfigManager;
 
+/**
+ * Extent reporting through a bounded queue drained by one background writer. Test threads only enqueue
+ * events; the writer owns the (non thread-safe) Extent model and rewrites the HTML report periodically,
+ * so a crashed run still leaves the last complete snapshot on disk. Only the writes are off the test threads:
+ * the model still holds every test until the run ends and each snapshot rewrites the whole file, so the
+ * interval stretches as snapshots get slower.
+ */
 public final class ExtentReportManager {
 
-    private static final ThreadLocal<ExtentTest> TL_TEST = new ThreadLocal<>();
-    private static ExtentReports extent;
+    private static final Logger LOG = LoggerFactory.getLogger(ExtentReportManager.class);
+
+    // Keyed by test invocation rather than thread so interleaved/parallel tests never share a node.
+    private static final String TEST_ATTRIBUTE = "framework.extentTest";
+    private static final Path REPORT_DIR = ReportPaths.dir();
+    private static final Path REPORT = REPORT_DIR.resolve("extent-report.html");
+    private static final Path STAGING = REPORT_DIR.resolve("extent-report.staging.html");
+    // Written next to the HTML in sharded runs; ReportMerger rebuilds one report from all shards' archives.
+    public static final String JSON_ARCHIVE = "extent-report.json";
+
+    private static final long FLUSH_INTERVAL_MS =
+            TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigManager.get("report.flush.interval.seconds", "10")));
+    // A periodic snapshot may take at most this share of the writer's time.
+    private static final double FLUSH_MAX_SHARE = Double.parseDouble(ConfigManager.get("report.flush.max.share", "0.1"));
+    private static final long OFFER_TIMEOUT_MS = Long.parseLong(ConfigManager.get("report.queue.offer.timeout.ms", "1000"));
+    private static final BlockingQueue<Consumer<ReportState>> QUEUE =
+            new ArrayBlockingQueue<>(Integer.parseInt(ConfigManager.get("report.queue.capacity", "10000")));
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    private static volatile Thread writer;
+    private static volatile boolean closing;
 
     private ExtentReportManager() {
     }
 
-    public static synchronized ExtentReports getInstance() {
-        if (extent == null) {
-            try {
-                Path reportDir = Paths.get("target", "reports");
-                Files.createDirectories(reportDir);
+    /**
+     * Starts the background writer once per JVM; the report is completed by a shutdown hook.
+     */
+    public static synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        ReportState state = new ReportState(createReports());
+        writer = new Thread(() -> drain(state), "extent-report-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ExtentReportManager::close, "extent-report-close"));
+    }
+
+    public static void startTest(ITestResult result) {
+        log(result, test -> test.info("Test started"));
+    }
+
+    /**
+     * Queues an update of the invocation's Extent node; the node is created on first use.
+     */
+    public static void log(ITestResult result, Consumer<ExtentTest> update) {
+        String id = nodeId(result);
+        String name = result.getMethod().getMethodName();
+        enqueue(state -> update.accept(state.test(id, name)));
+    }
+
+    /**
+     * Asks the writer to rewrite the report at its next opportunity; never waits for the write.
+     */
+    public static void flush() {
+        enqueue(ReportState::requestFlush);
+    }
 
-                ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportDir.resolve("extent-report.html").toString());
-                sparkReporter.config().setDocumentTitle("Law Reporters Automation Report");
-                sparkReporter.config().setReportName("Execution Summary");
+    private static String nodeId(ITestResult result) {
+        synchronized (result) {
+            Object id = result.getAttribute(TEST_ATTRIBUTE);
+            if (id == null) {
+                id = String.valueOf(NEXT_ID.incrementAndGet());
+                result.setAttribute(TEST_ATTRIBUTE, id);
+            }
+            return (String) id;
+        }
+    }
 
-                extent = new ExtentReports();
-                extent.attachReporter(sparkReporter);
-                extent.setSystemInfo("Project", "Law Reporters Automation");
-                extent.setSystemInfo("Framework", "Selenium + TestNG");
-            } catch (Exception e) {
-                throw new RuntimeException("Unable to initialize Extent report", e);
+    private static void enqueue(Consumer<ReportState> event) {
+        if (writer == null) {
+            start();
+        }
+        try {
+            // Bounded back-pressure only when the writer is far behind; a report line is never worth a hung test.
+            if (!QUEUE.offer(event, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                DROPPED.incrementAndGet();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DROPPED.incrementAndGet();
         }
-        return extent;
     }
 
-    public static void startTest(String testName) {
-        TL_TEST.set(getInstance().createTest(testName));
+    private static void drain(ReportState state) {
+        long nextFlush = System.currentTimeMillis() + FLUSH_INTERVAL_MS;
+        while (!closing || !QUEUE.isEmpty()) {
+            try {
+                Consumer<ReportState> event = QUEUE.poll(
+                        Math.max(1, nextFlush - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    apply(state, event);
+                }
+            } catch (InterruptedException e) {
+                closing = true;
+            }
+            if (state.flushRequested || (state.dirty && System.currentTimeMillis() >= nextFlush)) {
+                long started = System.currentTimeMillis();
+                state.write();
+                long took = System.currentTimeMillis() - started;
+                // Each snapshot rewrites every test so far; back off instead of rewriting ever larger files at a fixed rate.
+                nextFlush = System.currentTimeMillis() + Math.max(FLUSH_INTERVAL_MS, (long) (took / FLUSH_MAX_SHARE));
+            }
+        }
+        state.write();
     }
 
-    public static ExtentTest getTest() {
-        return TL_TEST.get();
+    private static void apply(ReportState state, Consumer<ReportState> event) {
+        try {
+            event.accept(state);
+            state.dirty = true;
+        } catch (RuntimeException e) {
+            LOG.warn("Dropping report event that failed to apply", e);
+        }
     }
 
-    public static synchronized void flush() {
-        if (extent != null) {
-            extent.flush();
+    private static void close() {
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        closing = true;
+        // Wake the writer if it is idling until the next periodic flush.
+        QUEUE.offer(state -> { });
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExtentReports createReports() {
+        try {
+            Files.createDirectories(REPORT_DIR);
+
+            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(STAGING.toString());
+            sparkReporter.config().setDocumentTitle("Law Reporters Automation Report");
+            sparkReporter.config().setReportName("Execution Summary");
+
+            ExtentReports extent = new ExtentReports();
+            extent.attachReporter(sparkReporter);
+            if (!ConfigManager.get("shard", "").isBlank()) {
+                extent.attachReporter(new JsonFormatter(REPORT_DIR.resolve(JSON_ARCHIVE).toString()));
+            }
+            extent.setSystemInfo("Project", "Law Reporters Automation");
+            extent.setSystemInfo("Framework", "Selenium + TestNG");
+            return extent;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to initialize Extent report", e);
+        }
+    }
+
+    /**
+     * Extent model plus node lookup; only ever touched by the writer thread.
+     */
+    private static final class ReportState {
+
+        private final ExtentReports extent;
+        private final Map<String, ExtentTest> tests = new HashMap<>();
+        private boolean dirty;
+        private boolean flushRequested;
+
+        private ReportState(ExtentReports extent) {
+            this.extent = extent;
+        }
+
+        private ExtentTest test(String id, String name) {
+            return tests.computeIfAbsent(id, key -> extent.createTest(name));
+        }
+
+        private void requestFlush() {
+            flushRequested = true;
+        }
+
+        private void write() {
+            if (!dirty && !flushRequested) {
+                return;
+            }
+            long dropped = DROPPED.getAndSet(0);
+            if (dropped > 0) {
+                LOG.warn("{} report events were dropped because the report queue stayed full", dropped);
+            }
+            try {
+                extent.flush();
+                // Readers (and a crash mid-write) only ever see a complete file.
+                Files.move(STAGING, REPORT, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Unable to write Extent report", e);
+            }
+            dirty = false;
+            flushRequested = false;
         }
     }
 }
@@ -0,0 +1,155 @@
+package reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import listeners.TestHistory;
+
+/**
+ * Combines the per-shard outputs of a sharded run into one report: the Extent HTML rebuilt from every
+ * shard's JSON archive, screenshots and Allure results copied into one directory, summed
+ * {@code execution-summary.txt} counts, and every shard's test entries appended to the {@link TestHistory} log.
+ * Expects one directory per shard containing {@code reports/} and {@code allure-results/}, as written by
+ * {@code scripts/run-shards.sh}.
+ *
+ * <p>Usage: {@code ReportMerger <shards dir> <report dir> <allure results dir>}
+ */
+public final class ReportMerger {
+
+    private static final String SUMMARY = "execution-summary.txt";
+    private static final String[] COUNTS = {"Total", "Passed", "Failed", "Skipped", "Retried"};
+
+    private ReportMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path shardsDir = Paths.get(args.length > 0 ? args[0] : "target/shards");
+        Path reportDir = Paths.get(args.length > 1 ? args[1] : "target/reports");
+        Path allureDir = Paths.get(args.length > 2 ? args[2] : "target/allure-results");
+
+        List<Path> shards;
+        try (Stream<Path> children = Files.list(shardsDir)) {
+            shards = children.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("No shard directories under " + shardsDir);
+        }
+        Files.createDirectories(reportDir);
+
+        mergeExtent(shards, reportDir);
+        String summary = mergeSummaries(shards);
+        Files.write(reportDir.resolve(SUMMARY), summary.getBytes(StandardCharsets.UTF_8));
+        int screenshots = 0;
+        int allureFiles = 0;
+        List<TestHistory.Entry> history = new ArrayList<>();
+        for (Path shard : shards) {
+            screenshots += copyFiles(shard.resolve("reports").resolve("screenshots"), reportDir.resolve("screenshots"));
+            // Allure result files are UUID-named, so results of all shards can share one directory.
+            allureFiles += copyFiles(shard.resolve("allure-results"), allureDir);
+            history.addAll(TestHistory.read(shard.resolve("reports").resolve(TestHistory.OBSERVED_FILE)));
+        }
+        TestHistory.append(history);
+
+        // Run from the command line after the forks, outside any test JVM: plain console output.
+        System.out.printf("Merged %d shards into %s (%d screenshots, %d Allure files, %d history entries)%n",
+                shards.size(), reportDir, screenshots, allureFiles, history.size());
+        System.out.print(summary);
+    }
+
+    private static void mergeExtent(List<Path> shards, Path reportDir) throws IOException {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportDir.resolve("extent-report.html").toString());
+        sparkReporter.config().setDocumentTitle("Law Reporters Automation Report");
+        sparkReporter.config().setReportName("Execution Summary (" + shards.size() + " shards)");
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        extent.setSystemInfo("Project", "Law Reporters Automation");
+        extent.setSystemInfo("Framework", "Selenium + TestNG");
+        extent.setSystemInfo("Shards", String.valueOf(shards.size()));
+        for (Path shard : shards) {
+            Path archive = shard.resolve("reports").resolve(ExtentReportManager.JSON_ARCHIVE);
+            if (Files.isRegularFile(archive)) {
+                extent.createDomainFromJsonArchive(archive.toString());
+            } else {
+                System.err.println("Shard " + shard + " left no Extent archive; its tests are missing from the merged report");
+            }
+        }
+        extent.flush();
+    }
+
+    /**
+     * Sums the counts; the duration is the slowest shard's, which is the wall time of a parallel run.
+     */
+    private static String mergeSummaries(List<Path> shards) throws IOException {
+        String nl = System.lineSeparator();
+        long[] totals = new long[COUNTS.length];
+        Duration wallTime = Duration.ZERO;
+        String suite = "";
+        List<String> perShard = new ArrayList<>();
+        for (Path shard : shards) {
+            Path file = shard.resolve("reports").resolve(SUMMARY);
+            if (!Files.isRegularFile(file)) {
+                perShard.add(shard.getFileName() + ": no " + SUMMARY);
+                continue;
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    fields.put(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+                }
+            }
+            suite = fields.getOrDefault("Suite", suite);
+            for (int i = 0; i < COUNTS.length; i++) {
+                totals[i] += Long.parseLong(fields.getOrDefault(COUNTS[i], "0"));
+            }
+            Duration duration = Duration.parse(fields.getOrDefault("Duration", "PT0S"));
+            if (duration.compareTo(wallTime) > 0) {
+                wallTime = duration;
+            }
+            perShard.add(shard.getFileName() + ": total " + fields.getOrDefault("Total", "0")
+                    + ", passed " + fields.getOrDefault("Passed", "0")
+                    + ", failed " + fields.getOrDefault("Failed", "0")
+                    + ", skipped " + fields.getOrDefault("Skipped", "0")
+                    + ", retried " + fields.getOrDefault("Retried", "0")
+                    + ", duration " + duration);
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("Suite: ").append(suite).append(nl);
+        for (int i = 0; i < COUNTS.length; i++) {
+            out.append(COUNTS[i]).append(": ").append(totals[i]).append(nl);
+        }
+        out.append("Duration: ").append(wallTime).append(nl);
+        out.append("Shards: ").append(shards.size()).append(nl);
+        perShard.forEach(line -> out.append("  ").append(line).append(nl));
+        return out.toString();
+    }
+
+    private static int copyFiles(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return 0;
+        }
+        Files.createDirectories(target);
+        List<Path> files;
+        try (Stream<Path> children = Files.list(source)) {
+            files = children.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Files.copy(file, target.resolve(file.getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return files.size();
+    }
+}
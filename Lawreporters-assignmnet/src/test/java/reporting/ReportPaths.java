@@ -0,0 +1,25 @@
+package reporting;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import utils.ConfigManager;
+
+/**
+ * Where this JVM writes its reports ({@code report.dir}, default {@code target/reports}). Sharded runs give
+ * every fork its own directory so parallel JVMs never overwrite each other's files before the merge.
+ */
+public final class ReportPaths {
+
+    private static final Path DIR = Paths.get(ConfigManager.get("report.dir", "target/reports"));
+
+    private ReportPaths() {
+    }
+
+    public static Path dir() {
+        return DIR;
+    }
+
+    public static Path resolve(String fileName) {
+        return DIR.resolve(fileName);
+    }
+}
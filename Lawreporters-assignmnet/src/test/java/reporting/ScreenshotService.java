@@ -0,0 +1,181 @@
+package reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigManager;
+
+/**
+ * Failure screenshots captured once on the test thread and shared by Extent (file path) and Allure
+ * (attachment). Downscaling, compression and disk writes run on a small background pool, so a burst of
+ * failures does not stall test threads on image encoding or I/O.
+ */
+public final class ScreenshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScreenshotService.class);
+
+    private static final Path SCREENSHOT_DIR = ReportPaths.resolve("screenshots");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static final boolean JPEG = "jpg".equalsIgnoreCase(ConfigManager.get("screenshot.format", "png"))
+            || "jpeg".equalsIgnoreCase(ConfigManager.get("screenshot.format", "png"));
+    private static final int MAX_WIDTH = Integer.parseInt(ConfigManager.get("screenshot.max.width", "0"));
+    private static final float JPEG_QUALITY = Float.parseFloat(ConfigManager.get("screenshot.jpeg.quality", "0.8"));
+    private static final long MAX_BYTES = Long.parseLong(ConfigManager.get("screenshot.max.bytes", "0"));
+
+    private static final ThreadPoolExecutor WRITER = createWriter();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> awaitPending(30), "screenshot-writer-drain"));
+    }
+
+    private ScreenshotService() {
+    }
+
+    /**
+     * Takes one screenshot and schedules its encoding, file write and Allure attachment.
+     *
+     * @return path the screenshot file will be written to, or an empty string when capture failed
+     */
+    public static String capture(WebDriver driver, String testName) {
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            LOG.warn("Unable to capture screenshot for {}", testName, e);
+            return "";
+        }
+
+        String extension = JPEG ? "jpg" : "png";
+        Path target = SCREENSHOT_DIR.resolve(testName + "_" + LocalDateTime.now().format(TIMESTAMP)
+                + "_" + SEQUENCE.incrementAndGet() + "." + extension);
+        // Must be prepared on the test thread: Allure binds the attachment to the test running here.
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String allureSource = lifecycle.prepareAttachment(
+                "Failure Screenshot", JPEG ? "image/jpeg" : "image/png", "." + extension);
+
+        WRITER.execute(() -> {
+            try {
+                byte[] encoded = encode(png);
+                Files.createDirectories(SCREENSHOT_DIR);
+                Files.write(target, encoded);
+                lifecycle.writeAttachment(allureSource, new ByteArrayInputStream(encoded));
+            } catch (Exception e) {
+                LOG.warn("Unable to write screenshot {}", target, e);
+            }
+        });
+        return target.toString();
+    }
+
+    /**
+     * Waits for queued screenshot writes, e.g. before reports are finalized.
+     */
+    public static void awaitPending(long timeoutSeconds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while ((WRITER.getActiveCount() > 0 || !WRITER.getQueue().isEmpty()) && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static byte[] encode(byte[] png) throws IOException {
+        if (!JPEG && MAX_WIDTH <= 0 && (MAX_BYTES <= 0 || png.length <= MAX_BYTES)) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        int width = MAX_WIDTH > 0 ? Math.min(MAX_WIDTH, image.getWidth()) : image.getWidth();
+        byte[] encoded = write(scale(image, width));
+        // Over the size cap: keep halving the width (text stays legible far longer than with harsher compression).
+        while (MAX_BYTES > 0 && encoded.length > MAX_BYTES && width > 320) {
+            width /= 2;
+            encoded = write(scale(image, width));
+        }
+        return encoded;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width) {
+        int type = JPEG ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        if (width == source.getWidth() && source.getType() == type) {
+            return source;
+        }
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] write(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!JPEG) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static ThreadPoolExecutor createWriter() {
+        int threads = Integer.parseInt(ConfigManager.get("screenshot.writer.threads", "2"));
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Integer.parseInt(ConfigManager.get("screenshot.writer.queue", "64"))),
+                runnable -> {
+                    Thread thread = new Thread(runnable, String.format(Locale.ROOT, "screenshot-writer-%d", index.incrementAndGet()));
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Queue full: the failing test thread encodes its own screenshot, bounding memory held by raw PNGs.
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -77,7 +77,7 @@ public class ContactFormTest extends BaseTest {
 
     private ContactFormComponent openContactForm() {
         String baseUrl = ConfigManager.get("base.url", "https://thelawreporters.com/");
-        ContactFormComponent contactForm = new ContactFormComponent(driver);
+        ContactFormComponent contactForm = new ContactFormComponent(getDriver());
         contactForm.openContactPage(baseUrl);
 
         Assert.assertTrue(contactForm.isContactPageLoaded(), "Contact Us page did not load correctly");
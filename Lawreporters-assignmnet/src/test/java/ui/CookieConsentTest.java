@@ -9,6 +9,11 @@ import pages.components.CookieConsentComponent;
 
 public class CookieConsentTest extends BaseTest {
 
+    @Override
+    protected boolean seedsConsentState() {
+        return false;
+    }
+
     @Test(priority = 1, description = "Cookie consent modal appears on first visit")
     public void verifyCookieModalAppearsOnFirstVisit() {
         CookieConsentComponent cookieConsent = openFreshHomePage();
@@ -56,11 +61,11 @@ public class CookieConsentTest extends BaseTest {
     }
 
     private CookieConsentComponent openFreshHomePage() {
-        Homepage homepage = new Homepage(driver);
-        CookieConsentComponent cookieConsent = new CookieConsentComponent(driver);
+        Homepage homepage = new Homepage(getDriver());
+        CookieConsentComponent cookieConsent = new CookieConsentComponent(getDriver());
 
         cookieConsent.clearAllCookiesAndStorage();
-        driver.navigate().refresh();
+        getDriver().navigate().refresh();
         homepage.waitForHomePageToLoad();
 
         return cookieConsent;
@@ -14,14 +14,14 @@ public class HomePageTest extends BaseTest {
 
     @Test(priority = 1, description = "Verify homepage loads successfully")
     public void verifyHomePageLoadsSuccessfully() {
-        Homepage homepage = new Homepage(driver);
+        Homepage homepage = new Homepage(getDriver());
         homepage.waitForHomePageToLoad();
         Assert.assertTrue(homepage.isHomePageLoaded(), "Homepage did not load correctly");
     }
 
     @Test(priority = 2, description = "Validate main navigation menu items")
     public void validateMainNavigationMenuItems() {
-        Homepage homepage = new Homepage(driver);
+        Homepage homepage = new Homepage(getDriver());
         homepage.waitForHomePageToLoad();
 
         List<String> missingItems = homepage.getMissingNavigationItems(EXPECTED_MENU_ITEMS);
@@ -30,7 +30,7 @@ public class HomePageTest extends BaseTest {
 
     @Test(priority = 3, description = "Check that the logo is displayed and clickable")
     public void verifyLogoDisplayedAndClickable() {
-        Homepage homepage = new Homepage(driver);
+        Homepage homepage = new Homepage(getDriver());
         homepage.waitForHomePageToLoad();
         Assert.assertTrue(homepage.isLogoDisplayed(), "Logo is not displayed");
         Assert.assertTrue(homepage.isLogoClickableAndNavigatesHome(), "Logo is not clickable or did not navigate home");
@@ -38,14 +38,14 @@ public class HomePageTest extends BaseTest {
 
     @Test(priority = 4, description = "Verify Breaking News section is present")
     public void verifyBreakingNewsSectionPresent() {
-        Homepage homepage = new Homepage(driver);
+        Homepage homepage = new Homepage(getDriver());
         homepage.waitForHomePageToLoad();
         Assert.assertTrue(homepage.isBreakingNewsSectionPresent(), "Breaking News section is not present");
     }
 
     @Test(priority = 5, description = "Test newsletter subscription form elements are visible")
     public void verifyNewsletterSubscriptionFormElementsVisible() {
-        Homepage homepage = new Homepage(driver);
+        Homepage homepage = new Homepage(getDriver());
         homepage.waitForHomePageToLoad();
         Assert.assertTrue(homepage.isNewsletterFormVisible(), "Newsletter form elements are not fully visible");
     }
@@ -2,11 +2,14 @@ package ui;
 
 import base.BaseTest;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import pages.components.NavigationMenuComponent;
 import utils.ConfigManager;
+import utils.LinkStatus;
 
 public class NavigationTest extends BaseTest {
 
@@ -16,19 +19,23 @@ public class NavigationTest extends BaseTest {
     @Test(priority = 1, description = "All navigation menu links are functional")
     public void verifyAllNavigationMenuLinksAreFunctional() {
         String baseUrl = ConfigManager.get("base.url", "https://thelawreporters.com/");
-        NavigationMenuComponent nav = new NavigationMenuComponent(driver);
+        NavigationMenuComponent nav = new NavigationMenuComponent(getDriver());
         nav.waitUntilMenuReady();
 
+        Map<String, String> urlByMenuItem = new LinkedHashMap<>();
         for (String menuItem : MAIN_MENU_ITEMS) {
             String href = nav.getMenuLinkHref(menuItem);
             Assert.assertNotNull(href, "Href should be available for menu item: " + menuItem);
             Assert.assertFalse(href.isBlank(), "Href should not be blank for menu item: " + menuItem);
-
-            String absoluteUrl = nav.toAbsoluteUrl(baseUrl, href);
-            int statusCode = nav.getUrlStatusCode(absoluteUrl);
-            Assert.assertTrue(statusCode > 0 && statusCode < 400,
-                    "Menu link is not functional for '" + menuItem + "'. URL: " + absoluteUrl + ", status: " + statusCode);
+            urlByMenuItem.put(menuItem, nav.toAbsoluteUrl(baseUrl, href));
         }
+
+        Map<String, LinkStatus> statuses = nav.getUrlStatuses(urlByMenuItem.values());
+        urlByMenuItem.forEach((menuItem, absoluteUrl) -> {
+            LinkStatus status = statuses.get(absoluteUrl);
+            Assert.assertTrue(status.isOk(),
+                    "Menu link is not functional for '" + menuItem + "'. URL: " + absoluteUrl + ", status: " + status);
+        });
     }
 
     @Test(priority = 2, description = "Clicking Jobs navigates to /jobs page")
@@ -49,16 +56,16 @@ public class NavigationTest extends BaseTest {
     @Test(priority = 5, description = "Verify correct page titles after navigation")
     public void verifyPageTitlesAfterNavigation() {
         verifyNavigationAndTitle("Jobs", "/jobs", "jobs");
-        driver.navigate().back();
+        getDriver().navigate().back();
 
         verifyNavigationAndTitle("Events", "/events", "events");
-        driver.navigate().back();
+        getDriver().navigate().back();
 
         verifyNavigationAndTitle("Contact Us", "/contact-us", "contact");
     }
 
     private void verifyNavigation(String menuLabel, String expectedPath) {
-        NavigationMenuComponent nav = new NavigationMenuComponent(driver);
+        NavigationMenuComponent nav = new NavigationMenuComponent(getDriver());
         nav.waitUntilMenuReady();
         nav.clickMenu(menuLabel);
         nav.waitForPageNavigation(expectedPath);
@@ -66,7 +73,7 @@ public class NavigationTest extends BaseTest {
     }
 
     private void verifyNavigationAndTitle(String menuLabel, String expectedPath, String expectedTitleKeyword) {
-        NavigationMenuComponent nav = new NavigationMenuComponent(driver);
+        NavigationMenuComponent nav = new NavigationMenuComponent(getDriver());
         nav.waitUntilMenuReady();
         nav.clickMenu(menuLabel);
         nav.waitForPageNavigation(expectedPath);
@@ -96,10 +96,10 @@ public class NewsletterSubscriptionTest extends BaseTest {
     }
 
     private NewsletterComponent openNewsletterForm() {
-        Homepage homepage = new Homepage(driver);
+        Homepage homepage = new Homepage(getDriver());
         homepage.waitForHomePageToLoad();
 
-        NewsletterComponent newsletter = new NewsletterComponent(driver);
+        NewsletterComponent newsletter = new NewsletterComponent(getDriver());
         newsletter.prepareForm();
         Assert.assertTrue(newsletter.isFormVisible(), "Newsletter form should be visible on homepage");
 
@@ -11,7 +11,7 @@ public class CrossBrowserCriticalTest extends BaseTest {
 
     @Test(priority = 1, description = "Critical: homepage loads")
     public void criticalHomePageLoads() {
-        Homepage homepage = new Homepage(driver);
+        Homepage homepage = new Homepage(getDriver());
         homepage.waitForHomePageToLoad();
 
         Assert.assertTrue(homepage.isHomePageLoaded(), "Homepage should load successfully");
@@ -19,7 +19,7 @@ public class CrossBrowserCriticalTest extends BaseTest {
 
     @Test(priority = 2, description = "Critical: jobs navigation works")
     public void criticalJobsNavigation() {
-        NavigationMenuComponent nav = new NavigationMenuComponent(driver);
+        NavigationMenuComponent nav = new NavigationMenuComponent(getDriver());
         nav.waitUntilMenuReady();
         nav.clickMenu("Jobs");
         nav.waitForPageNavigation("/jobs");
@@ -30,7 +30,7 @@ public class CrossBrowserCriticalTest extends BaseTest {
 
     @Test(priority = 3, description = "Critical: newsletter form is visible")
     public void criticalNewsletterVisible() {
-        NewsletterComponent newsletter = new NewsletterComponent(driver);
+        NewsletterComponent newsletter = new NewsletterComponent(getDriver());
         newsletter.prepareForm();
 
         Assert.assertTrue(newsletter.isFormVisible(), "Newsletter form should be visible");
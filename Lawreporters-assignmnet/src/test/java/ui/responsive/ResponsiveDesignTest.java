@@ -2,6 +2,7 @@ package ui.responsive;
 
 import base.BaseTest;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import pages.components.ResponsiveLayoutComponent;
 
@@ -14,6 +15,11 @@ public class ResponsiveDesignTest extends BaseTest {
     private static final int MOBILE_WIDTH = 375;
     private static final int MOBILE_HEIGHT = 667;
 
+    @Override
+    protected boolean blocksThirdPartyResources() {
+        return false;
+    }
+
     @Test(priority = 1, description = "Desktop viewport validation (1920x1080)")
     public void verifyDesktopViewportLayout() {
         ResponsiveLayoutComponent responsive = openWithViewport(DESKTOP_WIDTH, DESKTOP_HEIGHT);
@@ -62,14 +68,18 @@ public class ResponsiveDesignTest extends BaseTest {
                 "Mobile menu toggle is absent, so main menu items should already be visible");
     }
 
-    @Test(priority = 5, description = "Check element visibility and layout at breakpoints")
-    public void verifyElementsAcrossBreakpoints() {
-        assertCoreElementsAtViewport(DESKTOP_WIDTH, DESKTOP_HEIGHT, "Desktop");
-        assertCoreElementsAtViewport(TABLET_WIDTH, TABLET_HEIGHT, "Tablet");
-        assertCoreElementsAtViewport(MOBILE_WIDTH, MOBILE_HEIGHT, "Mobile");
+    // Parallel rows: each breakpoint gets its own pooled session instead of re-laying out one page three times.
+    @DataProvider(name = "breakpoints", parallel = true)
+    public Object[][] breakpoints() {
+        return new Object[][] {
+                {"Desktop", DESKTOP_WIDTH, DESKTOP_HEIGHT},
+                {"Tablet", TABLET_WIDTH, TABLET_HEIGHT},
+                {"Mobile", MOBILE_WIDTH, MOBILE_HEIGHT}
+        };
     }
 
-    private void assertCoreElementsAtViewport(int width, int height, String label) {
+    @Test(priority = 5, dataProvider = "breakpoints", description = "Check element visibility and layout at breakpoints")
+    public void verifyElementsAcrossBreakpoints(String label, int width, int height) {
         ResponsiveLayoutComponent responsive = openWithViewport(width, height);
 
         Assert.assertTrue(responsive.isLogoVisible(), label + ": logo should be visible");
@@ -80,9 +90,9 @@ public class ResponsiveDesignTest extends BaseTest {
     }
 
     private ResponsiveLayoutComponent openWithViewport(int width, int height) {
-        ResponsiveLayoutComponent responsive = new ResponsiveLayoutComponent(driver);
+        ResponsiveLayoutComponent responsive = new ResponsiveLayoutComponent(getDriver());
         responsive.applyViewport(width, height);
-        responsive.refreshAndWait();
+        responsive.settleLayout();
 
         Assert.assertTrue(responsive.isViewportApplied(width, height),
                 "Expected viewport to be set to " + width + "x" + height);
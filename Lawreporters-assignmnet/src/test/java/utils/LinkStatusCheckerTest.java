@@ -0,0 +1,78 @@
+package utils;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class LinkStatusCheckerTest {
+
+    private static final int LINKS = 20_000;
+
+    private final LinkStatusChecker checker =
+            new LinkStatusChecker(HttpClient.newHttpClient(), 1, Duration.ofSeconds(5));
+    private HttpServer server;
+    private String origin;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            try (exchange) {
+                Thread.sleep(300);
+                exchange.sendResponseHeaders(200, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        origin = "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test(description = "A long same-host queue of checks that finish synchronously drains without recursing")
+    public void queuedLinksFinishingSynchronouslyAllReportTheirOwnResult() {
+        List<String> urls = new ArrayList<>();
+        // Holds the host's only permit while everything else queues behind it.
+        urls.add("http://" + origin + "/slow");
+        for (int i = 0; i < LINKS; i++) {
+            // Same host, but the scheme is rejected before any request is sent.
+            urls.add("ftp://" + origin + "/file-" + i);
+        }
+
+        Map<String, LinkStatus> results = checker.check(urls, Duration.ofSeconds(20));
+
+        Assert.assertEquals(results.size(), LINKS + 1);
+        Assert.assertEquals(results.get(urls.get(0)).getStatusCode(), 200);
+        for (String url : urls.subList(1, urls.size())) {
+            LinkStatus status = results.get(url);
+            Assert.assertFalse(status.isOk(), status.toString());
+            Assert.assertNotEquals(status.getError(), "deadline exceeded", "Queued check never ran: " + status);
+        }
+    }
+
+    @Test(description = "An already-expired deadline reports every same-host link")
+    public void expiredDeadlineReportsEverySameHostLink() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < LINKS; i++) {
+            urls.add("http://" + origin + "/page-" + i);
+        }
+
+        Map<String, LinkStatus> results = checker.check(urls, Duration.ZERO);
+
+        Assert.assertEquals(results.size(), LINKS);
+        results.values().forEach(status -> Assert.assertEquals(status.getError(), "deadline exceeded"));
+    }
+}
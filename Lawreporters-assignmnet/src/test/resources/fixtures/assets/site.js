@@ -0,0 +1,59 @@
+(function () {
+    var CONSENT_COOKIE = 'cookie_consent';
+
+    function hasConsent() {
+        return document.cookie.split(';').some(function (c) {
+            return c.trim().indexOf(CONSENT_COOKIE + '=') === 0;
+        });
+    }
+
+    function storeConsent(value) {
+        document.cookie = CONSENT_COOKIE + '=' + value + '; path=/; max-age=31536000';
+        try {
+            localStorage.setItem('cookie_consent_state', value);
+        } catch (e) {
+            // Storage may be unavailable on file:// pages.
+        }
+        document.getElementById('cookie-banner').classList.add('hidden');
+    }
+
+    document.addEventListener('DOMContentLoaded', function () {
+        var banner = document.getElementById('cookie-banner');
+        if (banner && !hasConsent()) {
+            banner.classList.remove('hidden');
+            document.getElementById('cookie-accept').addEventListener('click', function () { storeConsent('accepted'); });
+            document.getElementById('cookie-reject').addEventListener('click', function () { storeConsent('rejected'); });
+        }
+
+        var toggle = document.getElementById('menu-toggle');
+        if (toggle) {
+            toggle.addEventListener('click', function () {
+                var nav = document.getElementById('main-nav');
+                var open = nav.classList.toggle('open');
+                toggle.setAttribute('aria-expanded', open ? 'true' : 'false');
+            });
+        }
+
+        var newsletter = document.getElementById('newsletter-form');
+        if (newsletter) {
+            newsletter.addEventListener('submit', function (event) {
+                event.preventDefault();
+                var message = document.getElementById('newsletter-message');
+                var terms = document.getElementById('newsletter-terms');
+                var email = newsletter.querySelector('input[type=email]').value;
+                if (!/^[^@\s]+@[^@\s]+\.[^@\s]+$/.test(email)) {
+                    message.className = 'message error';
+                    message.textContent = 'Invalid email address.';
+                    return;
+                }
+                if (!terms.checked) {
+                    message.className = 'message error';
+                    message.textContent = 'Please accept the terms to continue. Terms acceptance is required.';
+                    return;
+                }
+                message.className = 'message success';
+                message.textContent = 'Thank you for subscribing to our weekly newsletter.';
+            });
+        }
+    });
+})();